@@ -0,0 +1,68 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.benchmark;
+
+import net.william278.cloplib.handler.Handler;
+import net.william278.cloplib.handler.SpecialTypeChecker;
+import net.william278.cloplib.listener.BukkitOperationListener;
+import net.william278.cloplib.operation.OperationPosition;
+import net.william278.cloplib.operation.OperationUser;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Objects;
+
+/**
+ * A {@link BukkitOperationListener} that wraps Bukkit objects the way a typical claim plugin does, creating new
+ * wrappers on each call
+ */
+public class BenchmarkBukkitListener extends BukkitOperationListener {
+
+    public BenchmarkBukkitListener(@NotNull Handler handler) {
+        super(
+                handler,
+                SpecialTypeChecker.load(Objects.requireNonNull(
+                        BenchmarkBukkitListener.class.getClassLoader().getResourceAsStream(SPECIAL_TYPES_FILE),
+                        "Failed to load special types file"
+                )),
+                new HashMap<>()
+        );
+    }
+
+    @NotNull
+    @Override
+    public OperationPosition getPosition(@NotNull Location location) {
+        final World world = Objects.requireNonNull(location.getWorld(), "Location world is null");
+        return new StubPosition(
+                location.getX(), location.getY(), location.getZ(),
+                new StubWorld(world.getName(), world.getUID())
+        );
+    }
+
+    @NotNull
+    @Override
+    public OperationUser getUser(@NotNull Player player) {
+        return new StubUser(player.getName(), player.getUniqueId(), getPosition(player.getLocation()));
+    }
+
+}
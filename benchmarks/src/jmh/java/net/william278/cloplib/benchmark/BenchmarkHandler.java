@@ -0,0 +1,102 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.benchmark;
+
+import net.william278.cloplib.handler.ChunkHandler;
+import net.william278.cloplib.operation.Operation;
+import net.william278.cloplib.operation.OperationChunk;
+import net.william278.cloplib.operation.OperationPosition;
+import net.william278.cloplib.operation.OperationType;
+import net.william278.cloplib.operation.OperationUser;
+import net.william278.cloplib.operation.OperationWorld;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A {@link ChunkHandler} modelled on a typical chunk claim plugin, keeping claimed chunks in a hash set.
+ * <p>
+ * Operations are canceled in claimed chunks, and nature is canceled when crossing from the wilderness into a claim.
+ */
+public class BenchmarkHandler implements ChunkHandler {
+
+    private final Set<Long> claimedChunks = new HashSet<>();
+    private final boolean pooling;
+
+    // Claim a square of chunks, from (0, 0) inclusive to (size, size) exclusive
+    public BenchmarkHandler(int size, boolean pooling) {
+        this.pooling = pooling;
+        for (int x = 0; x < size; x++) {
+            for (int z = 0; z < size; z++) {
+                claimedChunks.add(OperationChunk.pack(x, z));
+            }
+        }
+    }
+
+    public BenchmarkHandler(int size) {
+        this(size, false);
+    }
+
+    @Override
+    public boolean isOperationPoolingEnabled() {
+        return pooling;
+    }
+
+    @Override
+    public boolean cancelOperation(@NotNull Operation operation) {
+        return isClaimed(operation.getOperationPosition().getChunk());
+    }
+
+    @Override
+    public boolean cancelChunkChange(@NotNull OperationUser user, @NotNull OperationChunk from,
+                                     @NotNull OperationChunk to) {
+        return isClaimed(from) != isClaimed(to) && isClaimed(to) && user.getName().isEmpty();
+    }
+
+    @Override
+    public boolean cancelNature(@NotNull OperationWorld world, @NotNull OperationChunk chunk1,
+                                @NotNull OperationChunk chunk2) {
+        return !isClaimed(chunk1) && isClaimed(chunk2);
+    }
+
+    @Override
+    public boolean cancelChunkOperation(@NotNull OperationType type, @NotNull OperationWorld world,
+                                        int chunkX, int chunkZ, @NotNull Supplier<OperationPosition> position) {
+        return isClaimed(chunkX, chunkZ);
+    }
+
+    @Override
+    public boolean cancelChunkNature(@NotNull OperationWorld world, int chunkX1, int chunkZ1, int chunkX2, int chunkZ2,
+                                     @NotNull Supplier<OperationPosition> position1,
+                                     @NotNull Supplier<OperationPosition> position2) {
+        return !isClaimed(chunkX1, chunkZ1) && isClaimed(chunkX2, chunkZ2);
+    }
+
+    private boolean isClaimed(@NotNull OperationChunk chunk) {
+        return isClaimed(chunk.getX(), chunk.getZ());
+    }
+
+    private boolean isClaimed(int chunkX, int chunkZ) {
+        return claimedChunks.contains(OperationChunk.pack(chunkX, chunkZ));
+    }
+
+}
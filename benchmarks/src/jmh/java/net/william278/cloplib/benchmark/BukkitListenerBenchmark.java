@@ -0,0 +1,185 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.benchmark;
+
+import net.william278.cloplib.listener.BukkitOperationListener;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Player;
+import org.bukkit.event.block.*;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Measures ClopLib's Bukkit event handlers end to end, from the event object through to the {@link BenchmarkHandler}.
+ * <p>
+ * Events are built once against stubbed Bukkit objects and passed straight to the {@link BukkitOperationListener}
+ * entry points, bypassing Bukkit's own event dispatch. Natural events are measured both in the wilderness, where
+ * most of them happen, and inside a claim.
+ */
+@State(Scope.Thread)
+public class BukkitListenerBenchmark {
+
+    private static final int EXPLOSION_RADIUS = 3;
+
+    private BukkitStubs stubs;
+    private BukkitOperationListener listener;
+
+    private BlockSpreadEvent fireSpreadWilderness;
+    private BlockSpreadEvent fireSpreadClaimed;
+    private BlockBurnEvent blockBurnWilderness;
+    private BlockFromToEvent fluidFlowWilderness;
+    private BlockFromToEvent fluidFlowAcrossBoundary;
+    private BlockPistonExtendEvent pistonPush;
+    private PlayerMoveEvent playerMoveWithinChunk;
+    private PlayerMoveEvent playerMoveAcrossBoundary;
+    private CreatureSpawnEvent mobSpawnWilderness;
+    private Block explosionCenter;
+    private List<Block> explosionBlocks;
+
+    @Setup
+    public void setup() {
+        this.stubs = new BukkitStubs("world", UUID.randomUUID());
+        this.listener = new BenchmarkBukkitListener(new BenchmarkHandler(8));
+
+        // Fire
+        final Block fire = stubs.setType(-200, 64, -200, Material.FIRE);
+        final Block claimedFire = stubs.setType(40, 64, 40, Material.FIRE);
+        this.fireSpreadWilderness = new BlockSpreadEvent(stubs.getBlock(-201, 64, -200), fire, null);
+        this.fireSpreadClaimed = new BlockSpreadEvent(stubs.getBlock(41, 64, 40), claimedFire, null);
+        this.blockBurnWilderness = new BlockBurnEvent(stubs.getBlock(-201, 64, -200), fire);
+
+        // Fluids
+        final Block water = stubs.setType(-190, 64, -190, Material.WATER);
+        final Block edgeWater = stubs.setType(-1, 64, 8, Material.WATER);
+        this.fluidFlowWilderness = new BlockFromToEvent(water, stubs.getBlock(-189, 64, -190));
+        this.fluidFlowAcrossBoundary = new BlockFromToEvent(edgeWater, stubs.getBlock(0, 64, 8));
+
+        // Pistons, pushing a full line of 12 blocks
+        final List<Block> pushed = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) {
+            pushed.add(stubs.getBlock(-180 + i, 64, -180));
+        }
+        this.pistonPush = new BlockPistonExtendEvent(stubs.getBlock(-180, 64, -180), pushed, BlockFace.EAST);
+
+        // Player movement
+        final Player player = stubs.getPlayer("William278", UUID.randomUUID(), stubs.getLocation(40.5, 64, 40.5));
+        this.playerMoveWithinChunk = new PlayerMoveEvent(player,
+                stubs.getLocation(40.5, 64, 40.5), stubs.getLocation(41.5, 64, 40.5));
+        this.playerMoveAcrossBoundary = new PlayerMoveEvent(player,
+                stubs.getLocation(-0.5, 64, 8.5), stubs.getLocation(0.5, 64, 8.5));
+
+        // Mob spawning
+        this.mobSpawnWilderness = new CreatureSpawnEvent(
+                stubs.getZombie(stubs.getLocation(-150.5, 64, -150.5)),
+                CreatureSpawnEvent.SpawnReason.NATURAL
+        );
+
+        // Explosions, centred on a claim boundary
+        this.explosionCenter = stubs.getBlock(0, 64, 0);
+        this.explosionBlocks = new ArrayList<>();
+        for (int x = -EXPLOSION_RADIUS; x <= EXPLOSION_RADIUS; x++) {
+            for (int y = -EXPLOSION_RADIUS; y <= EXPLOSION_RADIUS; y++) {
+                for (int z = -EXPLOSION_RADIUS; z <= EXPLOSION_RADIUS; z++) {
+                    explosionBlocks.add(stubs.getBlock(x, 64 + y, z));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean fireSpreadWilderness() {
+        fireSpreadWilderness.setCancelled(false);
+        listener.onFireSpread(fireSpreadWilderness);
+        return fireSpreadWilderness.isCancelled();
+    }
+
+    @Benchmark
+    public boolean fireSpreadClaimed() {
+        fireSpreadClaimed.setCancelled(false);
+        listener.onFireSpread(fireSpreadClaimed);
+        return fireSpreadClaimed.isCancelled();
+    }
+
+    @Benchmark
+    public boolean blockBurnWilderness() {
+        blockBurnWilderness.setCancelled(false);
+        listener.onBlockBurn(blockBurnWilderness);
+        return blockBurnWilderness.isCancelled();
+    }
+
+    @Benchmark
+    public boolean fluidFlowWilderness() {
+        fluidFlowWilderness.setCancelled(false);
+        listener.onBlockFromTo(fluidFlowWilderness);
+        return fluidFlowWilderness.isCancelled();
+    }
+
+    @Benchmark
+    public boolean fluidFlowAcrossBoundary() {
+        fluidFlowAcrossBoundary.setCancelled(false);
+        listener.onBlockFromTo(fluidFlowAcrossBoundary);
+        return fluidFlowAcrossBoundary.isCancelled();
+    }
+
+    @Benchmark
+    public boolean pistonPush() {
+        pistonPush.setCancelled(false);
+        listener.onPistonPush(pistonPush);
+        return pistonPush.isCancelled();
+    }
+
+    @Benchmark
+    public boolean playerMoveWithinChunk() {
+        playerMoveWithinChunk.setCancelled(false);
+        listener.onPlayerMove(playerMoveWithinChunk);
+        return playerMoveWithinChunk.isCancelled();
+    }
+
+    @Benchmark
+    public boolean playerMoveAcrossBoundary() {
+        playerMoveAcrossBoundary.setCancelled(false);
+        listener.onPlayerMove(playerMoveAcrossBoundary);
+        return playerMoveAcrossBoundary.isCancelled();
+    }
+
+    @Benchmark
+    public boolean mobSpawnWilderness() {
+        mobSpawnWilderness.setCancelled(false);
+        listener.onMobSpawn(mobSpawnWilderness);
+        return mobSpawnWilderness.isCancelled();
+    }
+
+    // The event's block list is mutated by the listener, so a fresh copy is exploded each time
+    @Benchmark
+    public int blockExplosion() {
+        final BlockExplodeEvent event = new BlockExplodeEvent(explosionCenter, new ArrayList<>(explosionBlocks), 1f);
+        listener.onBlockExplosion(event);
+        return event.blockList().size();
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.benchmark;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Zombie;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Proxy-backed stand-ins for the Bukkit API objects ClopLib's listeners read from events.
+ * <p>
+ * Only the methods the listeners call are answered; anything else returns a zero value. Blocks are cached per
+ * coordinate, so the same {@link Block} instance is returned for the same position, as on a real server.
+ */
+public final class BukkitStubs {
+
+    private final World world;
+    private final Map<Long, Block> blocks = new HashMap<>();
+    private final Map<Long, Material> materials = new HashMap<>();
+
+    public BukkitStubs(@NotNull String worldName, @NotNull UUID worldUuid) {
+        this.world = stub(World.class, Map.of(
+                "getName", args -> worldName,
+                "getUID", args -> worldUuid,
+                "getBlockAt", args -> args.length == 1
+                        ? getBlock(((Location) args[0]).getBlockX(), ((Location) args[0]).getBlockY(),
+                        ((Location) args[0]).getBlockZ())
+                        : getBlock((int) args[0], (int) args[1], (int) args[2])
+        ));
+    }
+
+    @NotNull
+    public World getWorld() {
+        return world;
+    }
+
+    @NotNull
+    public Location getLocation(double x, double y, double z) {
+        return new Location(world, x, y, z);
+    }
+
+    @NotNull
+    public Block getBlock(int x, int y, int z) {
+        return blocks.computeIfAbsent(key(x, y, z), key -> stub(Block.class, Map.of(
+                "getType", args -> materials.getOrDefault(key, Material.STONE),
+                "getX", args -> x,
+                "getY", args -> y,
+                "getZ", args -> z,
+                "getWorld", args -> world,
+                "getLocation", args -> new Location(world, x, y, z),
+                "getRelative", args -> {
+                    if (args.length == 3) {
+                        return getBlock(x + (int) args[0], y + (int) args[1], z + (int) args[2]);
+                    }
+                    final BlockFace face = (BlockFace) args[0];
+                    final int distance = args.length == 2 ? (int) args[1] : 1;
+                    return getBlock(x + face.getModX() * distance, y + face.getModY() * distance,
+                            z + face.getModZ() * distance);
+                }
+        )));
+    }
+
+    @NotNull
+    public Block setType(int x, int y, int z, @NotNull Material material) {
+        materials.put(key(x, y, z), material);
+        return getBlock(x, y, z);
+    }
+
+    @NotNull
+    public Player getPlayer(@NotNull String name, @NotNull UUID uuid, @NotNull Location location) {
+        return stub(Player.class, Map.of(
+                "getName", args -> name,
+                "getUniqueId", args -> uuid,
+                "getWorld", args -> world,
+                "getLocation", args -> location.clone()
+        ));
+    }
+
+    @NotNull
+    public Zombie getZombie(@NotNull Location location) {
+        return stub(Zombie.class, Map.of(
+                "getWorld", args -> world,
+                "getLocation", args -> location.clone()
+        ));
+    }
+
+    @NotNull
+    private static <T> T stub(@NotNull Class<T> type, @NotNull Map<String, Function<Object[], Object>> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            final Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args == null ? new Object[0] : args);
+            }
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> type.getSimpleName();
+                default -> getZeroValue(method.getReturnType());
+            };
+        }));
+    }
+
+    private static Object getZeroValue(@NotNull Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        } else if (type == boolean.class) {
+            return false;
+        } else if (type == char.class) {
+            return '\0';
+        } else if (type == float.class) {
+            return 0f;
+        } else if (type == double.class) {
+            return 0d;
+        } else if (type == long.class) {
+            return 0L;
+        }
+        return type == int.class ? 0 : type == short.class ? (short) 0 : (byte) 0;
+    }
+
+    private static long key(int x, int y, int z) {
+        return ((x & 0x3FFFFFFL) << 38) | ((z & 0x3FFFFFFL) << 12) | (y & 0xFFFL);
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.benchmark;
+
+import net.william278.cloplib.handler.CachingChunkHandler;
+import net.william278.cloplib.handler.Handler;
+import net.william278.cloplib.operation.Operation;
+import net.william278.cloplib.operation.OperationPosition;
+import net.william278.cloplib.operation.OperationType;
+import net.william278.cloplib.operation.OperationUser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.BitSet;
+import java.util.UUID;
+
+/**
+ * Measures the cost of dispatching checks to a {@link Handler}, with positions already materialized.
+ * <p>
+ * Each check is measured inside a claim, in the wilderness, and across a claim boundary.
+ */
+@State(Scope.Thread)
+public class HandlerDispatchBenchmark {
+
+    private Handler handler;
+    private Handler poolingHandler;
+    private Handler cachingHandler;
+    private StubWorld world;
+    private OperationUser user;
+    private StubPosition claimed;
+    private StubPosition wilderness;
+    private StubPosition claimedEdge;
+    private StubPosition wildernessEdge;
+    private long[] pushedAcrossBoundary;
+
+    @Setup
+    public void setup() {
+        this.handler = new BenchmarkHandler(8);
+        this.poolingHandler = new BenchmarkHandler(8, true);
+        this.cachingHandler = new CachingChunkHandler(new BenchmarkHandler(8));
+        this.world = new StubWorld("world", UUID.randomUUID());
+        this.claimed = new StubPosition(40.5, 64, 40.5, world);
+        this.wilderness = new StubPosition(-200.5, 64, -200.5, world);
+        this.claimedEdge = new StubPosition(0.5, 64, 8.5, world);
+        this.wildernessEdge = new StubPosition(-0.5, 64, 8.5, world);
+        this.pushedAcrossBoundary = new long[12];
+        for (int i = 0; i < pushedAcrossBoundary.length; i++) {
+            pushedAcrossBoundary[i] = OperationPosition.packBlock(i - 6, 64, 8);
+        }
+        this.user = new StubUser("William278", UUID.randomUUID(), claimed);
+    }
+
+    @Benchmark
+    public boolean natureOperationClaimed() {
+        return handler.cancelOperation(Operation.of(OperationType.FIRE_SPREAD, claimed));
+    }
+
+    @Benchmark
+    public boolean natureOperationWilderness() {
+        return handler.cancelOperation(Operation.of(OperationType.FIRE_SPREAD, wilderness));
+    }
+
+    @Benchmark
+    public boolean natureOperationWildernessPooled() {
+        return poolingHandler.cancelOperation(OperationType.FIRE_SPREAD, wilderness);
+    }
+
+    @Benchmark
+    public boolean natureOperationWildernessPrimitive() {
+        return handler.cancelOperation(OperationType.FIRE_SPREAD, world, -201, 64, -201, () -> wilderness);
+    }
+
+    @Benchmark
+    public boolean userOperationClaimed() {
+        return handler.cancelOperation(Operation.of(user, OperationType.BLOCK_BREAK, claimed));
+    }
+
+    @Benchmark
+    public boolean movementWithinChunk() {
+        return handler.cancelMovement(user, claimed, claimed);
+    }
+
+    @Benchmark
+    public boolean movementAcrossBoundary() {
+        return handler.cancelMovement(user, wildernessEdge, claimedEdge);
+    }
+
+    @Benchmark
+    public boolean natureWithinChunk() {
+        return handler.cancelNature(world, wilderness, wilderness);
+    }
+
+    @Benchmark
+    public boolean natureAcrossBoundary() {
+        return handler.cancelNature(world, wildernessEdge, claimedEdge);
+    }
+
+    @Benchmark
+    public boolean natureAcrossBoundaryPrimitive() {
+        return handler.cancelNature(world, -1, 64, 8, 0, 64, 8, () -> wildernessEdge, () -> claimedEdge);
+    }
+
+    @Benchmark
+    public boolean natureAcrossBoundaryCached() {
+        return cachingHandler.cancelNature(world, wildernessEdge, claimedEdge);
+    }
+
+    @Benchmark
+    public BitSet natureBatchAcrossBoundary() {
+        return handler.cancelNatureBatch(world, wildernessEdge, pushedAcrossBoundary, (packed) -> new StubPosition(
+                OperationPosition.unpackBlockX(packed),
+                OperationPosition.unpackBlockY(packed),
+                OperationPosition.unpackBlockZ(packed),
+                world
+        ));
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.benchmark;
+
+import net.william278.cloplib.operation.OperationChunk;
+import net.william278.cloplib.operation.OperationPosition;
+import net.william278.cloplib.operation.OperationWorld;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Minimal {@link OperationPosition} implementation, standing in for a claim plugin's position wrapper
+ */
+public record StubPosition(double x, double y, double z, @NotNull StubWorld world) implements OperationPosition {
+
+    @Override
+    public double getX() {
+        return x;
+    }
+
+    @Override
+    public double getY() {
+        return y;
+    }
+
+    @Override
+    public double getZ() {
+        return z;
+    }
+
+    @NotNull
+    @Override
+    public OperationWorld getWorld() {
+        return world;
+    }
+
+    // Like most implementations, a new chunk wrapper is created on each call
+    @NotNull
+    @Override
+    public OperationChunk getChunk() {
+        return new StubChunk((int) Math.floor(x) >> 4, (int) Math.floor(z) >> 4);
+    }
+
+}
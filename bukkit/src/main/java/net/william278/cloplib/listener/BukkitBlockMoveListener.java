@@ -19,11 +19,13 @@
 
 package net.william278.cloplib.listener;
 
-import net.william278.cloplib.operation.Operation;
 import net.william278.cloplib.operation.OperationPosition;
 import net.william278.cloplib.operation.OperationType;
+import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
 import org.bukkit.block.data.Directional;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.block.BlockDispenseEvent;
@@ -32,86 +34,104 @@ import org.bukkit.event.block.BlockPistonExtendEvent;
 import org.bukkit.event.block.BlockPistonRetractEvent;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
 public interface BukkitBlockMoveListener extends BukkitListener {
 
     // Stop fluids from entering claims
+    @Handles(nature = true)
     @EventHandler(ignoreCancelled = true)
     default void onBlockFromTo(@NotNull BlockFromToEvent e) {
-        final Material material = e.getBlock().getType();
+        final Block from = e.getBlock();
+        final Material material = from.getType();
         if (material == Material.LAVA || material == Material.WATER) {
-            final OperationPosition blockPosition = getPosition(e.getBlock().getLocation());
-            if (getHandler().cancelNature(
-                    blockPosition.getWorld(),
-                    blockPosition,
-                    getPosition(e.getToBlock().getLocation()))
-            ) {
+            if (cancelNaturalCrossing(from, e.getToBlock())) {
                 e.setCancelled(true);
             }
         }
     }
 
     // Stop people from pushing blocks into claims
+    @Handles(value = "redstone_actuate", nature = true)
     @EventHandler(ignoreCancelled = true)
     default void onPistonPush(@NotNull BlockPistonExtendEvent e) {
         final OperationPosition pistonLocation = getPosition(e.getBlock().getLocation());
 
-        if (getHandler().cancelOperation(Operation.of(
+        if (getHandler().cancelOperation(
                 OperationType.REDSTONE_ACTUATE,
                 pistonLocation,
                 true
-        ))) {
+        )) {
             e.setCancelled(true);
             return;
         }
 
-        for (final Block pushed : e.getBlocks()) {
-            if (getHandler().cancelNature(
-                    pistonLocation.getWorld(),
-                    pistonLocation,
-                    getPosition(pushed.getRelative(e.getDirection(), 1).getLocation())
-            )) {
-                e.setCancelled(true);
-                return;
-            }
+        final List<Block> pushed = e.getBlocks();
+        final BlockFace direction = e.getDirection();
+        final long[] positions = new long[pushed.size()];
+        for (int i = 0; i < positions.length; i++) {
+            final Block block = pushed.get(i);
+            positions[i] = OperationPosition.packBlock(
+                    block.getX() + direction.getModX(),
+                    block.getY() + direction.getModY(),
+                    block.getZ() + direction.getModZ()
+            );
+        }
+        if (cancelNatureBatch(e.getBlock().getWorld(), pistonLocation, positions)) {
+            e.setCancelled(true);
         }
     }
 
     // Stop people from pulling blocks from claims
+    @Handles(value = "redstone_actuate", nature = true)
     @EventHandler(ignoreCancelled = true)
     default void onPistonPull(@NotNull BlockPistonRetractEvent e) {
         final OperationPosition pistonLocation = getPosition(e.getBlock().getLocation());
 
-        if (getHandler().cancelOperation(Operation.of(
+        if (getHandler().cancelOperation(
                 OperationType.REDSTONE_ACTUATE,
                 pistonLocation,
                 true
-        ))) {
+        )) {
             e.setCancelled(true);
             return;
         }
 
-        for (final Block pulled : e.getBlocks()) {
-            if (getHandler().cancelNature(
-                    pistonLocation.getWorld(),
-                    pistonLocation,
-                    getPosition(pulled.getLocation())
-            )) {
-                e.setCancelled(true);
-                return;
-            }
+        final List<Block> pulled = e.getBlocks();
+        final long[] positions = new long[pulled.size()];
+        for (int i = 0; i < positions.length; i++) {
+            final Block block = pulled.get(i);
+            positions[i] = OperationPosition.packBlock(block.getX(), block.getY(), block.getZ());
+        }
+        if (cancelNatureBatch(e.getBlock().getWorld(), pistonLocation, positions)) {
+            e.setCancelled(true);
         }
     }
 
+    // Returns whether any of a batch of blocks moved from a source position should be canceled
+    private boolean cancelNatureBatch(@NotNull World world, @NotNull OperationPosition source, long[] positions) {
+        return positions.length > 0 && !getHandler().cancelNatureBatch(
+                getWorld(world), source, positions,
+                (packed) -> getPosition(new Location(
+                        world,
+                        OperationPosition.unpackBlockX(packed),
+                        OperationPosition.unpackBlockY(packed),
+                        OperationPosition.unpackBlockZ(packed)
+                ))
+        ).isEmpty();
+    }
+
     // Stop dispensers from dispensing onto unsuspecting claims
+    @Handles(value = "redstone_actuate", nature = true)
     @EventHandler(ignoreCancelled = true)
     default void onBlockDispense(@NotNull BlockDispenseEvent e) {
         final OperationPosition blockPosition = getPosition(e.getBlock().getLocation());
 
-        if (getHandler().cancelOperation(Operation.of(
+        if (getHandler().cancelOperation(
                 OperationType.REDSTONE_ACTUATE,
                 blockPosition,
                 true
-        ))) {
+        )) {
             e.setCancelled(true);
             return;
         }
@@ -35,11 +35,11 @@ public interface BukkitBreakListener extends BukkitListener {
 
     @EventHandler(ignoreCancelled = true)
     default void onPlayerBreakBlock(@NotNull BlockBreakEvent e) {
-        if (!isPlayerNpc(e.getPlayer()) && getHandler().cancelOperation(Operation.of(
-                getUser(e.getPlayer()),
-                getChecker().isFarmMaterial(e.getBlock().getType().getKey().toString())
+        if (!isPlayerNpc(e.getPlayer()) && getHandler().cancelOperation(Operation.lazy(
+                () -> getUser(e.getPlayer()),
+                getMaterialTable().isFarmMaterial(e.getBlock().getType())
                         ? OperationType.FARM_BLOCK_BREAK : OperationType.BLOCK_BREAK,
-                getPosition(e.getBlock().getLocation())
+                () -> getPosition(e.getBlock().getLocation())
         ))) {
             e.setCancelled(true);
         }
@@ -47,10 +47,10 @@ public interface BukkitBreakListener extends BukkitListener {
 
     @EventHandler(ignoreCancelled = true)
     default void onPlayerFillBucket(@NotNull PlayerBucketFillEvent e) {
-        if (!isPlayerNpc(e.getPlayer()) &&getHandler().cancelOperation(Operation.of(
-                getUser(e.getPlayer()),
+        if (!isPlayerNpc(e.getPlayer()) &&getHandler().cancelOperation(Operation.lazy(
+                () -> getUser(e.getPlayer()),
                 OperationType.FILL_BUCKET,
-                getPosition(e.getBlock().getLocation())
+                () -> getPosition(e.getBlock().getLocation())
         ))) {
             e.setCancelled(true);
         }
@@ -66,10 +66,10 @@ public interface BukkitBreakListener extends BukkitListener {
 
                 final Optional<Player> player = getPlayerSource(e.getRemover());
                 if (player.isPresent()) {
-                    if (getHandler().cancelOperation(Operation.of(
-                            getUser(player.get()),
+                    if (getHandler().cancelOperation(Operation.lazy(
+                            () -> getUser(player.get()),
                             OperationType.BREAK_HANGING_ENTITY,
-                            getPosition(e.getEntity().getLocation())
+                            () -> getPosition(e.getEntity().getLocation())
                     ))) {
                         e.setCancelled(true);
                     }
@@ -82,10 +82,10 @@ public interface BukkitBreakListener extends BukkitListener {
                 }
             }
             case EXPLOSION -> {
-                if (getHandler().cancelOperation(Operation.of(
+                if (getHandler().cancelOperation(
                         OperationType.EXPLOSION_DAMAGE_TERRAIN,
                         getPosition(e.getEntity().getLocation())
-                ))) {
+                )) {
                     e.setCancelled(true);
                 }
             }
@@ -60,10 +60,10 @@ public interface BukkitEntityDamageListener extends BukkitListener {
         if (cause == EntityDamageEvent.DamageCause.BLOCK_EXPLOSION
                 || cause == EntityDamageEvent.DamageCause.ENTITY_EXPLOSION
                 && !isMonster(e.getEntity())) {
-            if (getHandler().cancelOperation(Operation.of(
+            if (getHandler().cancelOperation(
                     OperationType.EXPLOSION_DAMAGE_ENTITY,
                     getPosition(e.getEntity().getLocation())
-            ))) {
+            )) {
                 e.setCancelled(true);
             }
         }
@@ -127,11 +127,11 @@ public interface BukkitEntityDamageListener extends BukkitListener {
                                                                      @NotNull E e) {
         final Optional<Player> damaged = getPlayerSource(entity);
         if (damaged.isPresent()) {
-            if (getHandler().cancelOperation(Operation.of(
-                    getUser(damager),
-                    getUser(damaged.get()),
+            if (getHandler().cancelOperation(Operation.lazy(
+                    () -> getUser(damager),
+                    () -> getUser(damaged.get()),
                     OperationType.PLAYER_DAMAGE_PLAYER,
-                    getPosition(damaged.get().getLocation())
+                    () -> getPosition(damaged.get().getLocation())
             ))) {
                 e.setCancelled(true);
             }
@@ -139,10 +139,10 @@ public interface BukkitEntityDamageListener extends BukkitListener {
         }
 
         // Determine the Operation type based on the entity being damaged
-        if (getHandler().cancelOperation(Operation.of(
-                getUser(damager),
+        if (getHandler().cancelOperation(Operation.lazy(
+                () -> getUser(damager),
                 getPlayerDamageType(entity),
-                getPosition(entity.getLocation())
+                () -> getPosition(entity.getLocation())
         ))) {
             e.setCancelled(true);
         }
@@ -166,10 +166,10 @@ public interface BukkitEntityDamageListener extends BukkitListener {
         // Prevent projectiles shot by mobs from harming passive mobs, hanging entities & armor stands
         if (!(entity instanceof Player || isMonster(entity))
                 && isMonster(proj.getShooter())) {
-            if (getHandler().cancelOperation(Operation.of(
+            if (getHandler().cancelOperation(
                     OperationType.MONSTER_DAMAGE_TERRAIN,
                     getPosition(entity.getLocation())
-            ))) {
+            )) {
                 e.setCancelled(true);
             }
         }
@@ -188,11 +188,11 @@ public interface BukkitEntityDamageListener extends BukkitListener {
         }
 
         // Protect against mobs being hurt by explosions
-        if (getHandler().cancelOperation(Operation.of(
+        if (getHandler().cancelOperation(
                 OperationType.BREAK_VEHICLE,
                 getPosition(vehicle.getLocation()),
                 true
-        ))) {
+        )) {
             event.setCancelled(true);
         }
     }
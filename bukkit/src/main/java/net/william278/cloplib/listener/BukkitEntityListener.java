@@ -19,11 +19,14 @@
 
 package net.william278.cloplib.listener;
 
-import com.google.common.collect.Sets;
+import net.william278.cloplib.handler.ClaimedChunkIndex;
+import net.william278.cloplib.handler.WorldProfile;
 import net.william278.cloplib.operation.Operation;
 import net.william278.cloplib.operation.OperationPosition;
 import net.william278.cloplib.operation.OperationType;
 import net.william278.cloplib.operation.OperationUser;
+import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Monster;
 import org.bukkit.entity.Projectile;
@@ -41,7 +44,7 @@ import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.projectiles.BlockProjectileSource;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashSet;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -58,11 +61,13 @@ public interface BukkitEntityListener extends BukkitListener {
             SpawnReason.PATROL
     );
 
+    @Handles("explosion_damage_terrain")
     @EventHandler(ignoreCancelled = true)
     default void onBlockExplosion(@NotNull BlockExplodeEvent e) {
         this.handleBlockExplosion(e.blockList());
     }
 
+    @Handles({"explosion_damage_terrain", "monster_damage_terrain"})
     @EventHandler(ignoreCancelled = true)
     default void onEntityExplode(@NotNull EntityExplodeEvent e) {
         // Handle explosive blocks under the much more intuitive EXPLOSION_DAMAGE_TERRAIN flag
@@ -72,34 +77,59 @@ public interface BukkitEntityListener extends BukkitListener {
         }
 
         // Otherwise, other explosive entities (wither, creeper) fall under monsters damaging terrain
-        final HashSet<Block> blocksToRemove = Sets.newHashSet();
-        for (Block block : e.blockList()) {
-            if (getHandler().cancelOperation(Operation.of(
-                    OperationType.MONSTER_DAMAGE_TERRAIN,
-                    getPosition(block.getLocation())
-            ))) {
-                blocksToRemove.add(block);
-            }
-        }
-        for (Block block : blocksToRemove) {
-            e.blockList().remove(block);
-        }
+        this.handleBlockExplosion(e.blockList(), OperationType.MONSTER_DAMAGE_TERRAIN);
     }
 
     private void handleBlockExplosion(List<Block> blockList) {
-        final HashSet<Block> blocksToRemove = Sets.newHashSet();
-        for (Block block : blockList) {
-            if (getHandler().cancelOperation(Operation.of(
-                    OperationType.EXPLOSION_DAMAGE_TERRAIN,
-                    getPosition(block.getLocation())
-            ))) {
-                blocksToRemove.add(block);
+        this.handleBlockExplosion(blockList, OperationType.EXPLOSION_DAMAGE_TERRAIN);
+    }
+
+    private void handleBlockExplosion(List<Block> blockList, OperationType type) {
+        if (blockList.isEmpty()) {
+            return;
+        }
+
+        // Check all exploded blocks in one batch
+        final World world = blockList.get(0).getWorld();
+        final long[] positions = new long[blockList.size()];
+        for (int i = 0; i < positions.length; i++) {
+            final Block block = blockList.get(i);
+            positions[i] = OperationPosition.packBlock(block.getX(), block.getY(), block.getZ());
+        }
+
+        // Skip the handler for explosions in worlds with a fixed verdict, or entirely in the wilderness
+        final WorldProfile.Verdict verdict = getWorldProfiles().getVerdict(getWorld(world), type);
+        if (verdict != WorldProfile.Verdict.ASK) {
+            if (verdict == WorldProfile.Verdict.DENY) {
+                blockList.clear();
             }
+            return;
         }
+        final ClaimedChunkIndex index = getHandler().getClaimedChunkIndex();
+        if (index != null && !index.isAnyBlockClaimed(world.getUID(), positions)) {
+            if (index.isWildernessCanceled(type)) {
+                blockList.clear();
+            }
+            return;
+        }
+
+        final BitSet canceled = getHandler().cancelOperationBatch(
+                null, type, getWorld(world), positions,
+                (packed) -> getPosition(new Location(
+                        world,
+                        OperationPosition.unpackBlockX(packed),
+                        OperationPosition.unpackBlockY(packed),
+                        OperationPosition.unpackBlockZ(packed)
+                ))
+        );
+
         // Don't destroy protected blocks (but allow the explosion to continue)
-        blocksToRemove.forEach(blockList::remove);
+        for (int i = canceled.previousSetBit(positions.length - 1); i >= 0; i = canceled.previousSetBit(i - 1)) {
+            blockList.remove(i);
+        }
     }
 
+    @Handles(value = {"block_break", "monster_damage_terrain"}, nature = true)
     @EventHandler(ignoreCancelled = true)
     default void onEntityChangeBlock(@NotNull EntityChangeBlockEvent e) {
         final OperationPosition position = getPosition(e.getBlock().getLocation());
@@ -119,10 +149,10 @@ public interface BukkitEntityListener extends BukkitListener {
 
         // Handle mob griefing (e.g. an Enderman, etc.)
         if (getChecker().isGriefingMob(e.getEntity().getType().getKey().toString())) {
-            if (getHandler().cancelOperation(Operation.of(
+            if (getHandler().cancelOperation(
                     OperationType.MONSTER_DAMAGE_TERRAIN,
                     position
-            ))) {
+            )) {
                 e.setCancelled(true);
             }
         }
@@ -169,6 +199,7 @@ public interface BukkitEntityListener extends BukkitListener {
         }
     }
 
+    @Handles({"monster_spawn", "passive_mob_spawn"})
     @EventHandler(ignoreCancelled = true)
     default void onMobSpawn(@NotNull CreatureSpawnEvent e) {
         // This event fires *a lot*, so we only check against important reason for performance
@@ -177,10 +208,10 @@ public interface BukkitEntityListener extends BukkitListener {
         }
 
         // Cancel mob spawning
-        if (getHandler().cancelOperation(Operation.of(
+        if (cancelNaturalOperation(
                 isMonster(e.getEntity()) ? OperationType.MONSTER_SPAWN : OperationType.PASSIVE_MOB_SPAWN,
-                getPosition(e.getLocation())
-        ))) {
+                e.getLocation()
+        )) {
             e.setCancelled(true);
         }
     }
@@ -19,7 +19,6 @@
 
 package net.william278.cloplib.listener;
 
-import net.william278.cloplib.operation.Operation;
 import net.william278.cloplib.operation.OperationType;
 import org.bukkit.Material;
 import org.bukkit.event.EventHandler;
@@ -29,24 +28,20 @@ import org.jetbrains.annotations.NotNull;
 
 public interface BukkitFireListener extends BukkitListener {
 
+    @Handles("fire_spread")
     @EventHandler(ignoreCancelled = true)
     default void onFireSpread(@NotNull BlockSpreadEvent e) {
         if (e.getSource().getType() == Material.FIRE) {
-            if (getHandler().cancelOperation(Operation.of(
-                    OperationType.FIRE_SPREAD,
-                    getPosition(e.getBlock().getLocation())
-            ))) {
+            if (cancelNaturalOperation(OperationType.FIRE_SPREAD, e.getBlock())) {
                 e.setCancelled(true);
             }
         }
     }
 
+    @Handles("fire_burn")
     @EventHandler(ignoreCancelled = true)
     default void onBlockBurn(@NotNull BlockBurnEvent e) {
-        if (getHandler().cancelOperation(Operation.of(
-                OperationType.FIRE_BURN,
-                getPosition(e.getBlock().getLocation())
-        ))) {
+        if (cancelNaturalOperation(OperationType.FIRE_BURN, e.getBlock())) {
             e.setCancelled(true);
         }
     }
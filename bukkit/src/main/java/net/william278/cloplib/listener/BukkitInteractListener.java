@@ -20,15 +20,13 @@
 package net.william278.cloplib.listener;
 
 import net.william278.cloplib.operation.Operation;
+import net.william278.cloplib.operation.OperationContext;
 import net.william278.cloplib.operation.OperationPosition;
 import net.william278.cloplib.operation.OperationType;
 import net.william278.cloplib.operation.OperationUser;
 import org.bukkit.FluidCollisionMode;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
-import org.bukkit.block.Lectern;
-import org.bukkit.block.Sign;
-import org.bukkit.block.data.type.Switch;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Vehicle;
@@ -49,6 +47,8 @@ import java.util.function.BiConsumer;
 public interface BukkitInteractListener extends BukkitListener {
 
     String SPAWN_EGG_NAME = "spawn_egg";
+    // The item in the player's main hand, which the inspection tool and spawn egg checks both look at
+    OperationContext.Key<ItemStack> HELD_ITEM = OperationContext.Key.of("held_item");
 
     // Handle player interaction with blocks.
     // We must not ignoreCancelled here as clicking air fires this event in a canceled state.
@@ -57,21 +57,26 @@ public interface BukkitInteractListener extends BukkitListener {
         switch (e.getAction()) {
             case RIGHT_CLICK_AIR -> {
                 if (e.getHand() == EquipmentSlot.HAND) {
-                    handleItemInteraction(e);
+                    handleItemInteraction(e, OperationContext.of(() -> getUser(e.getPlayer())));
                 }
             }
             case RIGHT_CLICK_BLOCK -> {
+                final Block block = e.getClickedBlock();
+                final boolean checkBlock = block != null && e.useInteractedBlock() != Event.Result.DENY;
+                if (e.getHand() != EquipmentSlot.HAND && !checkBlock) {
+                    return;
+                }
+
+                final OperationContext context = OperationContext.of(() -> getUser(e.getPlayer()));
                 if (e.getHand() == EquipmentSlot.HAND) {
-                    if (handleItemInteraction(e)) {
+                    if (handleItemInteraction(e, context)) {
                         return;
                     }
                 }
 
                 // Check against containers, switches and other block interactions
-                final Block block = e.getClickedBlock();
-                if (block != null && e.useInteractedBlock() != Event.Result.DENY) {
-                    if (getHandler().cancelOperation(Operation.of(
-                            getUser(e.getPlayer()),
+                if (checkBlock && e.useInteractedBlock() != Event.Result.DENY) {
+                    if (getHandler().cancelOperation(context.operation(
                             switch (getInteractBehaviour(block)) {
                                 case EDIT_SIGN -> OperationType.BLOCK_PLACE;
                                 case REDSTONE_SWITCHED -> OperationType.REDSTONE_INTERACT;
@@ -79,7 +84,7 @@ public interface BukkitInteractListener extends BukkitListener {
                                 case CONTAINER_OPENS -> OperationType.CONTAINER_OPEN;
                                 default -> OperationType.BLOCK_INTERACT;
                             },
-                            getPosition(block.getLocation()),
+                            block.getLocation(), this::getPosition,
                             e.getHand() == EquipmentSlot.OFF_HAND
                     ))) {
                         // Allow eating while clicking blocks in others' claims
@@ -97,26 +102,19 @@ public interface BukkitInteractListener extends BukkitListener {
                 }
 
                 final Block block = e.getClickedBlock();
-                if (block != null && block.getType() != Material.AIR) {
-                    if (getChecker().isPressureSensitiveMaterial(block.getType().getKey().toString())) {
-                        if (!isPlayerNpc(e.getPlayer()) && getHandler().cancelOperation(Operation.of(
-                                getUser(e.getPlayer()),
-                                OperationType.REDSTONE_INTERACT,
-                                getPosition(block.getLocation()),
-                                true
-                        ))) {
-                            e.setUseInteractedBlock(Event.Result.DENY);
-                        }
-                        return;
-                    }
+                final Material material = block != null ? block.getType() : Material.AIR;
+                if (material == Material.AIR || isPlayerNpc(e.getPlayer())) {
+                    return;
+                }
 
-                    if (!isPlayerNpc(e.getPlayer()) && getHandler().cancelOperation(Operation.of(
-                            getUser(e.getPlayer()),
-                            OperationType.BLOCK_INTERACT,
-                            getPosition(block.getLocation())
-                    ))) {
-                        e.setUseInteractedBlock(Event.Result.DENY);
-                    }
+                final boolean pressureSensitive = getMaterialTable().isPressureSensitiveMaterial(material);
+                if (getHandler().cancelOperation(Operation.lazy(
+                        () -> getUser(e.getPlayer()),
+                        pressureSensitive ? OperationType.REDSTONE_INTERACT : OperationType.BLOCK_INTERACT,
+                        () -> getPosition(block.getLocation()),
+                        pressureSensitive
+                ))) {
+                    e.setUseInteractedBlock(Event.Result.DENY);
                 }
             }
         }
@@ -124,9 +122,14 @@ public interface BukkitInteractListener extends BukkitListener {
 
     // Handle using spawn eggs
     default boolean handleItemInteraction(@NotNull PlayerInteractEvent e) {
+        return handleItemInteraction(e, OperationContext.of(() -> getUser(e.getPlayer())));
+    }
+
+    // Handle using spawn eggs, sharing what's resolved with the rest of the event's checks
+    default boolean handleItemInteraction(@NotNull PlayerInteractEvent e, @NotNull OperationContext context) {
         // Check if the user was allowed to perform an action using an item in their main hand
         if (e.useItemInHand() != Event.Result.DENY) {
-            return handleInspectionCallbacks(e) || handleSpawnEggs(e);
+            return handleInspectionCallbacks(e, context) || handleSpawnEggs(e, context);
         }
 
         // Otherwise, the event was handled provided the user didn't right-click a block
@@ -135,7 +138,12 @@ public interface BukkitInteractListener extends BukkitListener {
 
     // Handle claim inspection callbacks
     default boolean handleInspectionCallbacks(@NotNull PlayerInteractEvent e) {
-        final ItemStack item = e.getPlayer().getInventory().getItemInMainHand();
+        return handleInspectionCallbacks(e, OperationContext.of(() -> getUser(e.getPlayer())));
+    }
+
+    // Handle claim inspection callbacks, sharing what's resolved with the rest of the event's checks
+    default boolean handleInspectionCallbacks(@NotNull PlayerInteractEvent e, @NotNull OperationContext context) {
+        final ItemStack item = context.get(HELD_ITEM, () -> e.getPlayer().getInventory().getItemInMainHand());
         final InspectionTool tool = getTool(item);
         if (!getInspectionToolHandlers().containsKey(tool)) {
             return false;
@@ -149,11 +157,28 @@ public interface BukkitInteractListener extends BukkitListener {
         final BiConsumer<OperationUser, OperationPosition> callback = getInspectionToolHandlers().get(tool);
         final Block block = e.getPlayer().getTargetBlockExact(getInspectionDistance(), FluidCollisionMode.NEVER);
         if (block != null) {
-            callback.accept(getUser(e.getPlayer()), getPosition(block.getLocation()));
+            runInspectionCallback(e.getPlayer(), block, callback, context);
         }
         return true;
     }
 
+    // Run an inspection callback for the block a player is looking at
+    default void runInspectionCallback(@NotNull Player player, @NotNull Block block,
+                                       @NotNull BiConsumer<OperationUser, OperationPosition> callback) {
+        callback.accept(getUser(player), getPosition(block.getLocation()));
+    }
+
+    // Run an inspection callback for the block a player is looking at, sharing what's resolved with the rest of the
+    // event's checks
+    default void runInspectionCallback(@NotNull Player player, @NotNull Block block,
+                                       @NotNull BiConsumer<OperationUser, OperationPosition> callback,
+                                       @NotNull OperationContext context) {
+        callback.accept(
+                context.getUser().orElseGet(() -> getUser(player)),
+                context.getPosition(block.getLocation(), this::getPosition)
+        );
+    }
+
     @NotNull
     private InspectionTool getTool(@NotNull ItemStack item) {
         final InspectionTool.InspectionToolBuilder builder = InspectionTool.builder()
@@ -166,12 +191,16 @@ public interface BukkitInteractListener extends BukkitListener {
 
     // Returns true if a spawn egg operation was handled
     default boolean handleSpawnEggs(@NotNull PlayerInteractEvent e) {
-        final Material item = e.getPlayer().getInventory().getItemInMainHand().getType();
+        return handleSpawnEggs(e, OperationContext.of(() -> getUser(e.getPlayer())));
+    }
+
+    // Returns true if a spawn egg operation was handled, sharing what's resolved with the rest of the event's checks
+    default boolean handleSpawnEggs(@NotNull PlayerInteractEvent e, @NotNull OperationContext context) {
+        final Material item = context.get(HELD_ITEM, () -> e.getPlayer().getInventory().getItemInMainHand()).getType();
         if (item.getKey().toString().toLowerCase().contains(SPAWN_EGG_NAME)) {
-            if (!isPlayerNpc(e.getPlayer()) && getHandler().cancelOperation(Operation.of(
-                    getUser(e.getPlayer()),
+            if (!isPlayerNpc(e.getPlayer()) && getHandler().cancelOperation(context.operation(
                     OperationType.USE_SPAWN_EGG,
-                    getPosition(e.getPlayer().getLocation())
+                    e.getPlayer().getLocation(), this::getPosition
             ))) {
                 e.setUseItemInHand(Event.Result.DENY);
                 e.setUseInteractedBlock(Event.Result.DENY);
@@ -190,20 +219,20 @@ public interface BukkitInteractListener extends BukkitListener {
 
         // Check against interacting with container vehicles
         if (entity instanceof Vehicle && entity instanceof InventoryHolder && !isPlayerNpc(e.getPlayer())
-            && getHandler().cancelOperation(Operation.of(
-                getUser(e.getPlayer()),
+            && getHandler().cancelOperation(Operation.lazy(
+                () -> getUser(e.getPlayer()),
                 OperationType.CONTAINER_OPEN,
-                getPosition(e.getRightClicked().getLocation()),
+                () -> getPosition(e.getRightClicked().getLocation()),
                 e.getHand() == EquipmentSlot.OFF_HAND
         ))) {
             e.setCancelled(true);
             return;
         }
 
-        if (!isPlayerNpc(e.getPlayer()) && getHandler().cancelOperation(Operation.of(
-                getUser(e.getPlayer()),
+        if (!isPlayerNpc(e.getPlayer()) && getHandler().cancelOperation(Operation.lazy(
+                () -> getUser(e.getPlayer()),
                 OperationType.ENTITY_INTERACT,
-                getPosition(e.getRightClicked().getLocation()),
+                () -> getPosition(e.getRightClicked().getLocation()),
                 e.getHand() == EquipmentSlot.OFF_HAND
         ))) {
             e.setCancelled(true);
@@ -213,10 +242,10 @@ public interface BukkitInteractListener extends BukkitListener {
     // When a player manipulates an armour stand
     @EventHandler(ignoreCancelled = true)
     default void onPlayerArmorStand(@NotNull PlayerArmorStandManipulateEvent e) {
-        if (!isPlayerNpc(e.getPlayer()) && getHandler().cancelOperation(Operation.of(
-                getUser(e.getPlayer()),
+        if (!isPlayerNpc(e.getPlayer()) && getHandler().cancelOperation(Operation.lazy(
+                () -> getUser(e.getPlayer()),
                 OperationType.CONTAINER_OPEN,
-                getPosition(e.getRightClicked().getLocation()),
+                () -> getPosition(e.getRightClicked().getLocation()),
                 e.getHand() == EquipmentSlot.OFF_HAND
         ))) {
             e.setCancelled(true);
@@ -226,10 +255,10 @@ public interface BukkitInteractListener extends BukkitListener {
     // When a player takes a book from a lectern
     @EventHandler(ignoreCancelled = true)
     default void onPlayerTakeLecternBook(@NotNull PlayerTakeLecternBookEvent e) {
-        if (!isPlayerNpc(e.getPlayer()) && getHandler().cancelOperation(Operation.of(
-                getUser(e.getPlayer()),
+        if (!isPlayerNpc(e.getPlayer()) && getHandler().cancelOperation(Operation.lazy(
+                () -> getUser(e.getPlayer()),
                 OperationType.CONTAINER_OPEN,
-                getPosition(e.getLectern().getLocation())
+                () -> getPosition(e.getLectern().getLocation())
         ))) {
             e.setCancelled(true);
         }
@@ -238,20 +267,21 @@ public interface BukkitInteractListener extends BukkitListener {
     // Get the behaviour of a block
     @NotNull
     private BukkitInteractListener.InteractBehaviour getInteractBehaviour(@NotNull Block block) {
-        final String blockId = block.getType().getKey().toString();
-        if (block.getState() instanceof Lectern) {
+        final BukkitMaterialTable table = getMaterialTable();
+        final Material material = block.getType();
+        if (table.isLectern(block, material)) {
             return InteractBehaviour.LECTERN_OPENS;
         }
-        if (getChecker().isFarmMaterial(blockId)) {
+        if (table.isFarmMaterial(material)) {
             return InteractBehaviour.FARM_BLOCK;
         }
-        if (block.getState() instanceof InventoryHolder) {
+        if (table.isContainer(block, material)) {
             return InteractBehaviour.CONTAINER_OPENS;
         }
-        if (block.getBlockData() instanceof Switch) {
+        if (table.isSwitch(material)) {
             return InteractBehaviour.REDSTONE_SWITCHED;
         }
-        if (block.getState() instanceof Sign) {
+        if (table.isSign(block, material)) {
             return InteractBehaviour.EDIT_SIGN;
         }
         return InteractBehaviour.STANDARD;
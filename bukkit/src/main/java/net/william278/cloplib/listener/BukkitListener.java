@@ -19,11 +19,19 @@
 
 package net.william278.cloplib.listener;
 
+import net.william278.cloplib.handler.ClaimedChunkIndex;
 import net.william278.cloplib.handler.Handler;
+import net.william278.cloplib.handler.MovementTracker;
 import net.william278.cloplib.handler.TypeChecker;
+import net.william278.cloplib.handler.WorldProfile;
+import net.william278.cloplib.handler.WorldProfileCache;
 import net.william278.cloplib.operation.OperationPosition;
+import net.william278.cloplib.operation.OperationType;
 import net.william278.cloplib.operation.OperationUser;
+import net.william278.cloplib.operation.OperationWorld;
 import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
 import org.bukkit.entity.*;
 import org.bukkit.event.Listener;
 import org.jetbrains.annotations.NotNull;
@@ -36,6 +44,11 @@ public interface BukkitListener extends Listener, InspectorCallbackProvider {
     @NotNull
     OperationPosition getPosition(@NotNull Location location);
 
+    @NotNull
+    default OperationWorld getWorld(@NotNull World world) {
+        return getPosition(new Location(world, 0, 0, 0)).getWorld();
+    }
+
     @NotNull
     OperationUser getUser(@NotNull Player player);
 
@@ -45,6 +58,15 @@ public interface BukkitListener extends Listener, InspectorCallbackProvider {
     @NotNull
     TypeChecker getChecker();
 
+    @NotNull
+    BukkitMaterialTable getMaterialTable();
+
+    @NotNull
+    WorldProfileCache getWorldProfiles();
+
+    @NotNull
+    MovementTracker getMovementTracker();
+
     default Optional<Player> getPlayerSource(@Nullable Entity e) {
         if (e == null) {
             return Optional.empty();
@@ -65,6 +87,62 @@ public interface BukkitListener extends Listener, InspectorCallbackProvider {
         return entity instanceof Monster || entity instanceof Phantom || entity instanceof Slime;
     }
 
+    // Returns whether a natural operation at a block should be canceled; fixed verdicts skip the handler
+    default boolean cancelNaturalOperation(@NotNull OperationType type, @NotNull Block block) {
+        final OperationWorld world = getWorld(block.getWorld());
+        final WorldProfile.Verdict verdict = getWorldProfiles().getVerdict(world, type);
+        if (verdict != WorldProfile.Verdict.ASK) {
+            return verdict == WorldProfile.Verdict.DENY;
+        }
+        final ClaimedChunkIndex index = getHandler().getClaimedChunkIndex();
+        if (index != null && !index.isBlockClaimed(block.getWorld().getUID(), block.getX(), block.getZ())) {
+            return index.isWildernessCanceled(type);
+        }
+        return getHandler().cancelOperation(
+                type,
+                world, block.getX(), block.getY(), block.getZ(),
+                () -> getPosition(block.getLocation())
+        );
+    }
+
+    // Returns whether a natural operation at a location should be canceled; fixed verdicts skip the handler
+    default boolean cancelNaturalOperation(@NotNull OperationType type, @NotNull Location location) {
+        if (location.getWorld() == null) {
+            return getHandler().cancelOperation(type, getPosition(location));
+        }
+        final OperationWorld world = getWorld(location.getWorld());
+        final WorldProfile.Verdict verdict = getWorldProfiles().getVerdict(world, type);
+        if (verdict != WorldProfile.Verdict.ASK) {
+            return verdict == WorldProfile.Verdict.DENY;
+        }
+        final ClaimedChunkIndex index = getHandler().getClaimedChunkIndex();
+        if (index != null
+                && !index.isBlockClaimed(location.getWorld().getUID(), location.getBlockX(), location.getBlockZ())) {
+            return index.isWildernessCanceled(type);
+        }
+        return getHandler().cancelOperation(
+                type,
+                world, location.getBlockX(), location.getBlockY(), location.getBlockZ(),
+                () -> getPosition(location)
+        );
+    }
+
+    // Returns whether nature crossing between two blocks should be canceled, skipping the handler in the wilderness
+    default boolean cancelNaturalCrossing(@NotNull Block from, @NotNull Block to) {
+        final ClaimedChunkIndex index = getHandler().getClaimedChunkIndex();
+        if (index != null && !index.isBlockClaimed(from.getWorld().getUID(), from.getX(), from.getZ())
+                && !index.isBlockClaimed(to.getWorld().getUID(), to.getX(), to.getZ())) {
+            return false;
+        }
+        return getHandler().cancelNature(
+                getWorld(from.getWorld()),
+                from.getX(), from.getY(), from.getZ(),
+                to.getX(), to.getY(), to.getZ(),
+                () -> getPosition(from.getLocation()),
+                () -> getPosition(to.getLocation())
+        );
+    }
+
     // Check if the player is a Citizens NPC
     default boolean isPlayerNpc(@NotNull Player player) {
         return player.hasMetadata("NPC");
@@ -0,0 +1,216 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.listener;
+
+import net.william278.cloplib.handler.TypeChecker;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Lectern;
+import org.bukkit.block.Sign;
+import org.bukkit.block.data.type.Switch;
+import org.bukkit.inventory.InventoryHolder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A table of how each {@link Material} is treated by the Bukkit listeners, indexed by material ordinal
+ * <p>
+ * Farm, pressure-sensitive and switch materials are classified when the table is built. Whether a block is a
+ * container, sign or lectern depends on its tile entity, which Bukkit can only expose through a block state snapshot;
+ * this is taken the first time each material is looked up, and remembered thereafter.
+ *
+ * @since 2.1
+ */
+public final class BukkitMaterialTable {
+
+    private static final byte FARM = 1;
+    private static final byte PRESSURE_SENSITIVE = 1 << 1;
+    private static final byte SWITCH = 1 << 2;
+    private static final byte CONTAINER = 1 << 3;
+    private static final byte SIGN = 1 << 4;
+    private static final byte LECTERN = 1 << 5;
+    private static final byte RESOLVED = 1 << 6;
+
+    // Written racily, but every writer of an entry writes the same value
+    private final byte[] flags;
+
+    private BukkitMaterialTable(@NotNull TypeChecker checker) {
+        final Material[] materials = Material.values();
+        this.flags = new byte[materials.length];
+        for (Material material : materials) {
+            if (material.isLegacy()) {
+                flags[material.ordinal()] = RESOLVED;
+                continue;
+            }
+            final String key = material.getKey().toString();
+            byte entry = 0;
+            if (checker.isFarmMaterial(key)) {
+                entry |= FARM;
+            }
+            if (checker.isPressureSensitiveMaterial(key)) {
+                entry |= PRESSURE_SENSITIVE;
+            }
+            if (material.isBlock() && material.createBlockData() instanceof Switch) {
+                entry |= SWITCH;
+            }
+            if (!material.isBlock()) {
+                entry |= RESOLVED;
+            }
+            flags[material.ordinal()] = entry;
+        }
+    }
+
+    /**
+     * Build a material table, classifying materials with the given type checker
+     *
+     * @param checker the type checker
+     * @return the material table
+     * @since 2.1
+     */
+    @NotNull
+    public static BukkitMaterialTable of(@NotNull TypeChecker checker) {
+        return new BukkitMaterialTable(checker);
+    }
+
+    /**
+     * Returns whether a material is a farm material
+     *
+     * @param material the material
+     * @return whether the material is a farm material
+     * @since 2.1
+     */
+    public boolean isFarmMaterial(@NotNull Material material) {
+        return (flags[material.ordinal()] & FARM) != 0;
+    }
+
+    /**
+     * Returns whether a material is pressure-sensitive
+     *
+     * @param material the material
+     * @return whether the material is pressure-sensitive
+     * @since 2.1
+     */
+    public boolean isPressureSensitiveMaterial(@NotNull Material material) {
+        return (flags[material.ordinal()] & PRESSURE_SENSITIVE) != 0;
+    }
+
+    /**
+     * Returns whether a material is a redstone switch, such as a lever or button
+     *
+     * @param material the material
+     * @return whether the material is a switch
+     * @since 2.1
+     */
+    public boolean isSwitch(@NotNull Material material) {
+        return (flags[material.ordinal()] & SWITCH) != 0;
+    }
+
+    /**
+     * Returns whether a block is a container
+     *
+     * @param block the block
+     * @return whether the block's state holds an inventory
+     * @since 2.1
+     */
+    public boolean isContainer(@NotNull Block block) {
+        return isContainer(block, block.getType());
+    }
+
+    /**
+     * Returns whether a block is a container, given its already looked-up type
+     *
+     * @param block the block
+     * @param type  the block's type
+     * @return whether the block's state holds an inventory
+     * @since 2.1
+     */
+    public boolean isContainer(@NotNull Block block, @NotNull Material type) {
+        return (resolve(block, type) & CONTAINER) != 0;
+    }
+
+    /**
+     * Returns whether a block is a sign
+     *
+     * @param block the block
+     * @return whether the block is a sign
+     * @since 2.1
+     */
+    public boolean isSign(@NotNull Block block) {
+        return isSign(block, block.getType());
+    }
+
+    /**
+     * Returns whether a block is a sign, given its already looked-up type
+     *
+     * @param block the block
+     * @param type  the block's type
+     * @return whether the block is a sign
+     * @since 2.1
+     */
+    public boolean isSign(@NotNull Block block, @NotNull Material type) {
+        return (resolve(block, type) & SIGN) != 0;
+    }
+
+    /**
+     * Returns whether a block is a lectern
+     *
+     * @param block the block
+     * @return whether the block is a lectern
+     * @since 2.1
+     */
+    public boolean isLectern(@NotNull Block block) {
+        return isLectern(block, block.getType());
+    }
+
+    /**
+     * Returns whether a block is a lectern, given its already looked-up type
+     *
+     * @param block the block
+     * @param type  the block's type
+     * @return whether the block is a lectern
+     * @since 2.1
+     */
+    public boolean isLectern(@NotNull Block block, @NotNull Material type) {
+        return (resolve(block, type) & LECTERN) != 0;
+    }
+
+    // Returns the flags of a block's material, taking a state snapshot if its tile entity type isn't yet known
+    private byte resolve(@NotNull Block block, @NotNull Material type) {
+        final int ordinal = type.ordinal();
+        byte entry = flags[ordinal];
+        if ((entry & RESOLVED) != 0) {
+            return entry;
+        }
+        final BlockState state = block.getState();
+        if (state instanceof InventoryHolder) {
+            entry |= CONTAINER;
+        }
+        if (state instanceof Sign) {
+            entry |= SIGN;
+        }
+        if (state instanceof Lectern) {
+            entry |= LECTERN;
+        }
+        entry |= RESOLVED;
+        flags[ordinal] = entry;
+        return entry;
+    }
+
+}
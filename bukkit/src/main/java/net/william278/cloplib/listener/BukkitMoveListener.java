@@ -29,10 +29,12 @@ import org.bukkit.event.player.PlayerTeleportEvent;
 import org.bukkit.event.vehicle.VehicleMoveEvent;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Objects;
 import java.util.Optional;
 
 public interface BukkitMoveListener extends BukkitListener {
 
+    @Handles(movement = true)
     @EventHandler(ignoreCancelled = true)
     default void onPlayerMove(@NotNull PlayerMoveEvent e) {
         final Location fromLocation = e.getFrom();
@@ -41,12 +43,12 @@ public interface BukkitMoveListener extends BukkitListener {
             return;
         }
 
-        if (fromLocation.getBlock().equals(toLocation.getBlock()) && fromLocation.distance(toLocation) < 0.1) {
+        if (isNegligibleMove(fromLocation, toLocation)) {
             return;
         }
 
         // Handle cancelling moving, if needed
-        if (getHandler().cancelMovement(getUser(e.getPlayer()), getPosition(fromLocation), getPosition(toLocation))) {
+        if (cancelMovement(e.getPlayer(), fromLocation, toLocation)) {
             e.setCancelled(true);
             if (e.getPlayer().isInsideVehicle()) {
                 e.getPlayer().leaveVehicle();
@@ -54,12 +56,13 @@ public interface BukkitMoveListener extends BukkitListener {
         }
     }
 
+    @Handles(movement = true)
     @EventHandler(ignoreCancelled = true)
     default void onVehicleMove(@NotNull VehicleMoveEvent e) {
         final Location fromLocation = e.getFrom();
         final Location toLocation = e.getTo();
 
-        if (fromLocation.getBlock().equals(toLocation.getBlock()) && fromLocation.distance(toLocation) < 0.1) {
+        if (isNegligibleMove(fromLocation, toLocation)) {
             return;
         }
 
@@ -71,8 +74,7 @@ public interface BukkitMoveListener extends BukkitListener {
 
         // Dismount if cancelled
         final Player player = optionalPlayer.get();
-        if (player.isInsideVehicle() && getHandler().cancelMovement(
-                getUser(player), getPosition(fromLocation), getPosition(toLocation))) {
+        if (player.isInsideVehicle() && cancelMovement(player, fromLocation, toLocation)) {
             player.leaveVehicle();
             e.getVehicle().teleport(fromLocation);
         }
@@ -82,14 +84,33 @@ public interface BukkitMoveListener extends BukkitListener {
     default void onPlayerEnderPearl(@NotNull PlayerTeleportEvent e) {
         if (isPlayerNpc(e.getPlayer()) || e.getCause() == PlayerTeleportEvent.TeleportCause.ENDER_PEARL
                 || e.getCause() == PlayerTeleportEvent.TeleportCause.CHORUS_FRUIT) {
-            if (getHandler().cancelOperation(Operation.of(
-                    getUser(e.getPlayer()),
+            if (getHandler().cancelOperation(Operation.lazy(
+                    () -> getUser(e.getPlayer()),
                     OperationType.ENDER_PEARL_TELEPORT,
-                    getPosition(e.getFrom())
+                    () -> getPosition(e.getFrom())
             ))) {
                 e.setCancelled(true);
             }
         }
     }
 
+    // Returns whether a player's movement should be canceled, only asking the handler when they cross into a new chunk
+    private boolean cancelMovement(@NotNull Player player, @NotNull Location from, @NotNull Location to) {
+        if (to.getWorld() == null) {
+            return getHandler().cancelMovement(getUser(player), getPosition(from), getPosition(to));
+        }
+        return getMovementTracker().cancelMovement(
+                player.getUniqueId(), getWorld(to.getWorld()),
+                from.getBlockX(), from.getBlockZ(), to.getBlockX(), to.getBlockZ(),
+                () -> getUser(player), () -> getPosition(from), () -> getPosition(to)
+        );
+    }
+
+    // Returns whether a move stays within a block and barely moves, comparing coordinates rather than creating blocks
+    private static boolean isNegligibleMove(@NotNull Location from, @NotNull Location to) {
+        return from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY()
+                && from.getBlockZ() == to.getBlockZ() && Objects.equals(from.getWorld(), to.getWorld())
+                && from.distanceSquared(to) < 0.01;
+    }
+
 }
@@ -19,28 +19,57 @@
 
 package net.william278.cloplib.listener;
 
-import com.google.common.collect.Maps;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
+import net.william278.cloplib.handler.CachedAsyncHandler;
+import net.william278.cloplib.handler.CachingChunkHandler;
 import net.william278.cloplib.handler.Handler;
+import net.william278.cloplib.handler.MovementTracker;
 import net.william278.cloplib.handler.SpecialTypeChecker;
 import net.william278.cloplib.handler.TypeChecker;
+import net.william278.cloplib.handler.WorldProfileCache;
 import net.william278.cloplib.operation.OperationPosition;
+import net.william278.cloplib.operation.OperationType;
 import net.william278.cloplib.operation.OperationUser;
+import net.william278.cloplib.operation.OperationWorld;
+import net.william278.cloplib.util.WrapperCache;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * A listener for Bukkit events that can be used to cancel operations
  */
 @Getter
-@AllArgsConstructor
 public abstract class BukkitOperationListener implements OperationListener, BukkitInteractListener,
         BukkitEntityDamageListener, BukkitPlaceListener, BukkitBreakListener, BukkitBlockMoveListener,
         BukkitPortalListener, BukkitMoveListener, BukkitEntityListener, BukkitFireListener, BukkitWorldListener {
@@ -48,6 +77,26 @@ public abstract class BukkitOperationListener implements OperationListener, Bukk
     private final Handler handler;
     private final TypeChecker checker;
     private final Map<InspectionTool, BiConsumer<OperationUser, OperationPosition>> inspectionToolHandlers;
+    private final BukkitMaterialTable materialTable;
+    private final WorldProfileCache worldProfiles;
+    private final MovementTracker movementTracker;
+    @Getter(AccessLevel.NONE)
+    private final WrapperCache<OperationWorld> worlds = new WrapperCache<>();
+    @Getter(AccessLevel.NONE)
+    private final WrapperCache<OperationUser> users = new WrapperCache<>();
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean ticking = new AtomicBoolean();
+
+    public BukkitOperationListener(@NotNull Handler handler, @NotNull TypeChecker checker,
+                                   @NotNull Map<InspectionTool, BiConsumer<OperationUser, OperationPosition>> handlers) {
+        this.handler = handler;
+        this.checker = checker;
+        this.inspectionToolHandlers = handlers;
+        this.materialTable = BukkitMaterialTable.of(checker);
+        this.worldProfiles = new WorldProfileCache(handler);
+        this.movementTracker = new MovementTracker(handler);
+        startTickingForProvidingPlugin();
+    }
 
     @SuppressWarnings("unused")
     public BukkitOperationListener(@NotNull Handler handler, @NotNull JavaPlugin plugin) {
@@ -57,8 +106,11 @@ public abstract class BukkitOperationListener implements OperationListener, Bukk
                         plugin.getResource(SPECIAL_TYPES_FILE),
                         "Failed to load special types file")
                 ),
-                Maps.newHashMap()
+                new ConcurrentHashMap<>()
         );
+        if (plugin.isEnabled()) {
+            startTicking(plugin);
+        }
     }
 
     /**
@@ -71,6 +123,212 @@ public abstract class BukkitOperationListener implements OperationListener, Bukk
     @NotNull
     public abstract OperationPosition getPosition(@NotNull Location location);
 
+    /**
+     * Returns the {@link OperationWorld} of a {@link World}, cached per world
+     *
+     * @param world the world
+     * @return the OperationWorld of the world
+     * @since 2.1
+     */
+    @NotNull
+    @Override
+    public OperationWorld getWorld(@NotNull World world) {
+        return getCachedWorld(world, (w) -> getPosition(new Location(w, 0, 0, 0)).getWorld());
+    }
+
+    /**
+     * Returns the cached {@link OperationWorld} of a {@link World}, creating it if it isn't cached yet. Cached worlds
+     * are forgotten when the world unloads.
+     *
+     * @param world   the world
+     * @param factory creates the OperationWorld of the world
+     * @return the cached OperationWorld
+     * @since 2.1
+     */
+    @NotNull
+    protected final OperationWorld getCachedWorld(@NotNull World world,
+                                                  @NotNull Function<World, OperationWorld> factory) {
+        return worlds.get(world.getUID(), world, factory);
+    }
+
+    /**
+     * Returns the cached {@link OperationUser} of a {@link Player}, creating it if it isn't cached yet. Cached users
+     * are forgotten when the player joins or leaves, so implementations of {@link #getUser(Player)} can use this to
+     * create one user per player per session, rather than one per event.
+     *
+     * @param player  the player
+     * @param factory creates the OperationUser of the player
+     * @return the cached OperationUser
+     * @since 2.1
+     */
+    @NotNull
+    protected final OperationUser getCachedUser(@NotNull Player player,
+                                                @NotNull Function<Player, OperationUser> factory) {
+        return users.get(player.getUniqueId(), player, factory);
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(@NotNull PlayerJoinEvent e) {
+        users.invalidate(e.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(@NotNull PlayerQuitEvent e) {
+        users.invalidate(e.getPlayer().getUniqueId());
+        movementTracker.forget(e.getPlayer().getUniqueId());
+    }
+
+    // Forget a player's tracked movement when they move without walking, so their next move is checked in full
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(@NotNull PlayerTeleportEvent e) {
+        movementTracker.forget(e.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(@NotNull PlayerRespawnEvent e) {
+        movementTracker.forget(e.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(@NotNull PlayerChangedWorldEvent e) {
+        movementTracker.forget(e.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Register this listener's event handlers, skipping those that only check operations which the {@link Handler}
+     * declares it doesn't handle (see {@link Handles})
+     * <p>
+     * Call this again to re-register event handlers after the handler's declarations change. Registering this
+     * listener with {@link org.bukkit.plugin.PluginManager#registerEvents(Listener, Plugin)} instead registers every
+     * event handler.
+     *
+     * @param plugin the plugin to register the event handlers for
+     * @since 2.1
+     */
+    public void register(@NotNull Plugin plugin) {
+        startTicking(plugin);
+        HandlerList.unregisterAll(this);
+        for (Method method : getClass().getMethods()) {
+            final EventHandler eventHandler = method.getAnnotation(EventHandler.class);
+            if (eventHandler == null || method.isBridge() || method.getParameterCount() != 1
+                || !Event.class.isAssignableFrom(method.getParameterTypes()[0]) || !isHandled(method)) {
+                continue;
+            }
+
+            final Class<? extends Event> eventClass = method.getParameterTypes()[0].asSubclass(Event.class);
+            final Dispatcher dispatcher = bind(method);
+            plugin.getServer().getPluginManager().registerEvent(eventClass, this, eventHandler.priority(),
+                    (listener, event) -> {
+                        if (!eventClass.isInstance(event)) {
+                            return;
+                        }
+                        try {
+                            dispatcher.dispatch(listener, event);
+                        } catch (Throwable e) {
+                            throw new EventException(e);
+                        }
+                    }, plugin, eventHandler.ignoreCancelled());
+        }
+    }
+
+    // Bind an event handler to a generated dispatcher once, so events aren't dispatched through reflection
+    @NotNull
+    private static Dispatcher bind(@NotNull Method method) {
+        final MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Failed to access event handler " + method, e);
+        }
+        try {
+            return (Dispatcher) LambdaMetafactory.metafactory(
+                    MethodHandles.lookup(), "dispatch", MethodType.methodType(Dispatcher.class),
+                    MethodType.methodType(void.class, Object.class, Object.class), handle,
+                    handle.type().changeReturnType(void.class)
+            ).getTarget().invokeExact();
+        } catch (Throwable e) {
+            // Fall back to invoking the method handle directly, if the dispatcher can't be generated
+            final MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (listener, event) -> generic.invokeExact(listener, event);
+        }
+    }
+
+    /**
+     * Start calling {@link CachingChunkHandler#tick()} once per server tick, if the {@link Handler} is a
+     * {@link CachingChunkHandler}; does nothing if this has already started
+     * <p>
+     * This is called when this listener is {@link #register(Plugin) registered}, or created while the plugin that
+     * loaded it is enabled, such as from {@code onEnable}. If you create it earlier, call this from your plugin's
+     * {@code onEnable}; until then, the handler expires its cached decisions by time instead.
+     *
+     * @param plugin the plugin to schedule the tick task for
+     * @since 2.1
+     */
+    public void startTicking(@NotNull Plugin plugin) {
+        if (handler instanceof CachingChunkHandler caching && ticking.compareAndSet(false, true)) {
+            scheduleTicks(plugin, caching::tick);
+        }
+    }
+
+    // Start ticking for the plugin that loaded this listener's class, if it is already enabled
+    private void startTickingForProvidingPlugin() {
+        if (!(handler instanceof CachingChunkHandler)) {
+            return;
+        }
+        try {
+            final JavaPlugin plugin = JavaPlugin.getProvidingPlugin(getClass());
+            if (plugin.isEnabled()) {
+                startTicking(plugin);
+            }
+        } catch (IllegalArgumentException | IllegalStateException ignored) {
+            // Not loaded by a plugin; the handler expires decisions by time until it is ticked
+        }
+    }
+
+    // Run a task on the main thread once per tick
+    protected void scheduleTicks(@NotNull Plugin plugin, @NotNull Runnable task) {
+        plugin.getServer().getScheduler().runTaskTimer(plugin, task, 1L, 1L);
+    }
+
+    // Returns whether the handler handles anything an event handler checks
+    private boolean isHandled(@NotNull Method method) {
+        final Handles handles = method.getAnnotation(Handles.class);
+        if (handles == null || (handles.movement() && handler.handlesMovement())
+            || (handles.nature() && handler.handlesNature())) {
+            return true;
+        }
+        for (String key : handles.value()) {
+            if (OperationType.get(key).map(handler::handlesOperationType).orElse(true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(@NotNull WorldUnloadEvent e) {
+        if (handler instanceof CachedAsyncHandler<?> cached) {
+            cached.evict(getWorld(e.getWorld()));
+        }
+        worldProfiles.refresh(e.getWorld().getUID());
+        worlds.invalidate(e.getWorld().getUID());
+    }
+
+    // Start loading a chunk's claim data as it loads, so it is ready before the chunk is checked
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(@NotNull ChunkLoadEvent e) {
+        if (handler instanceof CachedAsyncHandler<?> cached) {
+            cached.prefetch(getWorld(e.getWorld()), e.getChunk().getX(), e.getChunk().getZ());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(@NotNull ChunkUnloadEvent e) {
+        if (handler instanceof CachedAsyncHandler<?> cached) {
+            cached.evict(getWorld(e.getWorld()), e.getChunk().getX(), e.getChunk().getZ());
+        }
+    }
+
     /**
      * Returns the {@link OperationUser} of a {@link Player}
      *
@@ -94,4 +352,12 @@ public abstract class BukkitOperationListener implements OperationListener, Bukk
         inspectionToolHandlers.put(tool, callback);
     }
 
+    // Calls a bound event handler on a listener
+    @FunctionalInterface
+    private interface Dispatcher {
+
+        void dispatch(@NotNull Object listener, @NotNull Object event) throws Throwable;
+
+    }
+
 }
@@ -31,11 +31,11 @@ public interface BukkitPlaceListener extends BukkitListener {
 
     @EventHandler(ignoreCancelled = true)
     default void onPlayerPlaceBlock(@NotNull BlockPlaceEvent e) {
-        if (!isPlayerNpc(e.getPlayer()) && getHandler().cancelOperation(Operation.of(
-                getUser(e.getPlayer()),
-                getChecker().isFarmMaterial(e.getBlockPlaced().getType().getKey().toString())
+        if (!isPlayerNpc(e.getPlayer()) && getHandler().cancelOperation(Operation.lazy(
+                () -> getUser(e.getPlayer()),
+                getMaterialTable().isFarmMaterial(e.getBlockPlaced().getType())
                         ? OperationType.FARM_BLOCK_PLACE : OperationType.BLOCK_PLACE,
-                getPosition(e.getBlock().getLocation())
+                () -> getPosition(e.getBlock().getLocation())
         ))) {
             e.setCancelled(true);
             e.setBuild(false);
@@ -44,10 +44,10 @@ public interface BukkitPlaceListener extends BukkitListener {
 
     @EventHandler(ignoreCancelled = true)
     default void onPlayerEmptyBucket(@NotNull PlayerBucketEmptyEvent e) {
-        if (!isPlayerNpc(e.getPlayer()) && getHandler().cancelOperation(Operation.of(
-                getUser(e.getPlayer()),
+        if (!isPlayerNpc(e.getPlayer()) && getHandler().cancelOperation(Operation.lazy(
+                () -> getUser(e.getPlayer()),
                 OperationType.EMPTY_BUCKET,
-                getPosition(e.getBlock().getLocation())
+                () -> getPosition(e.getBlock().getLocation())
         ))) {
             e.setCancelled(true);
         }
@@ -59,10 +59,10 @@ public interface BukkitPlaceListener extends BukkitListener {
             return;
         }
 
-        if (getHandler().cancelOperation(Operation.of(
-                getUser(e.getPlayer()),
+        if (getHandler().cancelOperation(Operation.lazy(
+                () -> getUser(e.getPlayer()),
                 OperationType.PLACE_HANGING_ENTITY,
-                getPosition(e.getEntity().getLocation())
+                () -> getPosition(e.getEntity().getLocation())
         ))) {
             e.setCancelled(true);
         }
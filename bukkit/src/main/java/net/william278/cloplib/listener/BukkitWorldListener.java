@@ -28,12 +28,13 @@ import org.jetbrains.annotations.NotNull;
 
 public interface BukkitWorldListener extends BukkitListener {
 
+    @Handles("start_raid")
     @EventHandler(ignoreCancelled = true)
     default void onRaidTriggered(@NotNull RaidTriggerEvent e) {
-        if (!isPlayerNpc(e.getPlayer()) && getHandler().cancelOperation(Operation.of(
-                getUser(e.getPlayer()),
+        if (!isPlayerNpc(e.getPlayer()) && getHandler().cancelOperation(Operation.lazy(
+                () -> getUser(e.getPlayer()),
                 OperationType.START_RAID,
-                getPosition(e.getRaid().getLocation())
+                () -> getPosition(e.getRaid().getLocation())
         ))) {
             e.setCancelled(true);
         }
@@ -41,14 +42,14 @@ public interface BukkitWorldListener extends BukkitListener {
 
     @EventHandler(ignoreCancelled = true)
     default void onLightningStrike(@NotNull LightningStrikeEvent e) {
-        if (!getHandler().cancelOperation(Operation.of(
+        if (!getHandler().cancelOperation(
                 switch (e.getCause()) {
                     case TRIDENT -> OperationType.BLOCK_BREAK;
                     case TRAP -> OperationType.MONSTER_DAMAGE_TERRAIN;
                     default -> OperationType.FIRE_SPREAD;
                 },
                 getPosition(e.getLightning().getLocation())
-        ))) {
+        )) {
             e.setCancelled(true);
         }
     }
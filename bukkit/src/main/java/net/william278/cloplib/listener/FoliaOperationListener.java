@@ -0,0 +1,158 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.listener;
+
+import net.william278.cloplib.handler.Handler;
+import net.william278.cloplib.handler.TypeChecker;
+import net.william278.cloplib.operation.OperationPosition;
+import net.william278.cloplib.operation.OperationUser;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * A {@link BukkitOperationListener} for region-threaded servers, such as Folia
+ * <p>
+ * Events on these servers fire in parallel on the thread owning the region they happen in, so the {@link Handler}
+ * backing this listener must be thread-safe (see {@link Handler}). Inspection callbacks are run on the scheduler of
+ * the region containing the inspected block. When not running on Folia, this behaves as a regular
+ * {@link BukkitOperationListener}.
+ * <p>
+ * Plugins using this listener must declare {@code folia-supported: true} in their {@code plugin.yml}.
+ *
+ * @since 2.1
+ */
+public abstract class FoliaOperationListener extends BukkitOperationListener {
+
+    private static final String REGIONIZED_SERVER_CLASS = "io.papermc.paper.threadedregions.RegionizedServer";
+    private static final String REGION_SCHEDULER_CLASS = "io.papermc.paper.threadedregions.scheduler.RegionScheduler";
+    private static final String GLOBAL_SCHEDULER_CLASS =
+            "io.papermc.paper.threadedregions.scheduler.GlobalRegionScheduler";
+    private static final String SCHEDULED_TASK_CLASS = "io.papermc.paper.threadedregions.scheduler.ScheduledTask";
+
+    private final Plugin plugin;
+    @Nullable
+    private final MethodHandle regionExecute;
+
+    protected FoliaOperationListener(@NotNull Handler handler, @NotNull TypeChecker checker,
+                                     @NotNull JavaPlugin plugin) {
+        super(handler, checker, new ConcurrentHashMap<>());
+        this.plugin = plugin;
+        this.regionExecute = findRegionExecute(plugin);
+        if (plugin.isEnabled()) {
+            startTicking(plugin);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    protected FoliaOperationListener(@NotNull Handler handler, @NotNull JavaPlugin plugin) {
+        super(handler, plugin);
+        this.plugin = plugin;
+        this.regionExecute = findRegionExecute(plugin);
+    }
+
+    /**
+     * Returns whether the server is running Folia, or another region-threaded Paper fork
+     *
+     * @return whether the server is region-threaded
+     * @since 2.1
+     */
+    public static boolean isFolia() {
+        try {
+            Class.forName(REGIONIZED_SERVER_CLASS);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    // The user and position are resolved on the event thread; the callback runs on the block's region thread
+    @Override
+    public void runInspectionCallback(@NotNull Player player, @NotNull Block block,
+                                      @NotNull BiConsumer<OperationUser, OperationPosition> callback) {
+        final OperationUser user = getUser(player);
+        final Location location = block.getLocation();
+        final OperationPosition position = getPosition(location);
+        if (regionExecute == null) {
+            callback.accept(user, position);
+            return;
+        }
+        try {
+            regionExecute.invoke(plugin, location, (Runnable) () -> callback.accept(user, position));
+        } catch (Throwable e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to schedule inspection callback on region thread", e);
+            callback.accept(user, position);
+        }
+    }
+
+    // On Folia, run the task on the global region scheduler, as the Bukkit scheduler is unsupported
+    @Override
+    protected void scheduleTicks(@NotNull Plugin plugin, @NotNull Runnable task) {
+        if (!isFolia()) {
+            super.scheduleTicks(plugin, task);
+            return;
+        }
+        try {
+            final Class<?> schedulerClass = Class.forName(GLOBAL_SCHEDULER_CLASS);
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final Object scheduler = lookup.findVirtual(Server.class, "getGlobalRegionScheduler",
+                    MethodType.methodType(schedulerClass)).invoke(plugin.getServer());
+            final MethodHandle runAtFixedRate = lookup.findVirtual(schedulerClass, "runAtFixedRate",
+                    MethodType.methodType(Class.forName(SCHEDULED_TASK_CLASS),
+                            Plugin.class, Consumer.class, long.class, long.class));
+            runAtFixedRate.invoke(scheduler, plugin, (Consumer<Object>) (t) -> task.run(), 1L, 1L);
+        } catch (Throwable e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to schedule the cache tick task", e);
+        }
+    }
+
+    // Bind RegionScheduler#execute(Plugin, Location, Runnable) to the server's region scheduler, if there is one
+    @Nullable
+    private static MethodHandle findRegionExecute(@NotNull Plugin plugin) {
+        if (!isFolia()) {
+            return null;
+        }
+        try {
+            final Class<?> schedulerClass = Class.forName(REGION_SCHEDULER_CLASS);
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final Object scheduler = lookup.findVirtual(Server.class, "getRegionScheduler",
+                    MethodType.methodType(schedulerClass)).invoke(plugin.getServer());
+            return lookup.findVirtual(schedulerClass, "execute",
+                    MethodType.methodType(void.class, Plugin.class, Location.class, Runnable.class)).bindTo(scheduler);
+        } catch (Throwable e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to find the region scheduler", e);
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.listener;
+
+import net.william278.cloplib.handler.Handler;
+
+import java.lang.annotation.*;
+
+/**
+ * Declares what a Bukkit event handler checks with the {@link Handler}, so that
+ * {@link BukkitOperationListener#register(org.bukkit.plugin.Plugin)} can skip registering it when the handler
+ * doesn't {@link Handler#handlesOperationType(net.william278.cloplib.operation.OperationType) handle} any of it
+ * <p>
+ * Event handlers without this annotation are always registered.
+ *
+ * @since 2.1
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Handles {
+
+    /**
+     * The keys of the operation types the event handler checks
+     *
+     * @return the operation type keys
+     * @since 2.1
+     */
+    String[] value() default {};
+
+    /**
+     * Whether the event handler checks movement
+     *
+     * @return whether movement is checked
+     * @since 2.1
+     */
+    boolean movement() default false;
+
+    /**
+     * Whether the event handler checks nature crossing between positions
+     *
+     * @return whether nature is checked
+     * @since 2.1
+     */
+    boolean nature() default false;
+
+}
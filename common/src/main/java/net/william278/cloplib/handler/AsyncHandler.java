@@ -0,0 +1,107 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.handler;
+
+import net.william278.cloplib.operation.Operation;
+import net.william278.cloplib.operation.OperationPosition;
+import net.william278.cloplib.operation.OperationUser;
+import net.william278.cloplib.operation.OperationWorld;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Represents a handler whose claim data is loaded asynchronously, such as from a database, a chunk at a time
+ * <p>
+ * Listeners must answer on the server thread, so an async handler is wrapped in a {@link CachedAsyncHandler}, which
+ * keeps loaded chunk data in memory and decides operations against it synchronously. Loading a chunk is the only
+ * step that may be slow; deciding an operation against loaded data must not block.
+ *
+ * @param <T> the type of data loaded for a chunk, such as the claim covering it
+ * @since 2.1
+ */
+public interface AsyncHandler<T> {
+
+    /**
+     * Load the data of a chunk
+     * <p>
+     * This is called off the critical path, when a chunk is loaded or first checked, and may complete on any thread.
+     *
+     * @param world  the world the chunk is in
+     * @param chunkX the chunk X coordinate
+     * @param chunkZ the chunk Z coordinate
+     * @return a future completing with the chunk's data, or with {@code null} if there is none (e.g. wilderness)
+     * @since 2.1
+     */
+    @NotNull
+    CompletableFuture<@Nullable T> loadChunk(@NotNull OperationWorld world, int chunkX, int chunkZ);
+
+    /**
+     * Returns whether an operation should be canceled, given the data of the chunk it takes place in
+     *
+     * @param operation the operation to check
+     * @param chunk     the data of the chunk the operation takes place in, or {@code null} if there is none
+     * @return whether the operation should be canceled
+     * @since 2.1
+     */
+    boolean cancelOperation(@NotNull Operation operation, @Nullable T chunk);
+
+    /**
+     * Returns whether a user's movement between chunks should be canceled, given the data of both chunks
+     *
+     * @param user the user who is moving
+     * @param from the data of the chunk the user is moving from, or {@code null} if there is none
+     * @param to   the data of the chunk the user is moving to, or {@code null} if there is none
+     * @return whether the movement should be canceled
+     * @since 2.1
+     */
+    boolean cancelChunkChange(@NotNull OperationUser user, @Nullable T from, @Nullable T to);
+
+    /**
+     * Returns whether a nature operation between chunks should be canceled, given the data of both chunks
+     *
+     * @param world  the world the operation is taking place in
+     * @param chunk1 the data of the first chunk, or {@code null} if there is none
+     * @param chunk2 the data of the second chunk, or {@code null} if there is none
+     * @return whether the operation should be canceled
+     * @since 2.1
+     */
+    boolean cancelNature(@NotNull OperationWorld world, @Nullable T chunk1, @Nullable T chunk2);
+
+    /**
+     * Returns whether an operation should be canceled, loading the data of the chunk it takes place in
+     * <p>
+     * Use this where an answer isn't needed straight away. The operation is {@link Operation#copy() copied}, so
+     * pooled operations may be passed.
+     *
+     * @param operation the operation to check
+     * @return a future completing with whether the operation should be canceled
+     * @since 2.1
+     */
+    @NotNull
+    default CompletableFuture<Boolean> cancelOperationAsync(@NotNull Operation operation) {
+        final Operation copy = operation.copy();
+        final OperationPosition position = copy.getOperationPosition();
+        return loadChunk(position.getWorld(), (int) Math.floor(position.getX()) >> 4,
+                (int) Math.floor(position.getZ()) >> 4).thenApply((chunk) -> cancelOperation(copy, chunk));
+    }
+
+}
@@ -0,0 +1,265 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.handler;
+
+import net.william278.cloplib.operation.*;
+import net.william278.cloplib.util.ConcurrentLong2ObjectMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A {@link ChunkHandler} that answers synchronously for an {@link AsyncHandler}, from a read-through cache of the
+ * chunk data it loads.
+ * <p>
+ * Chunk data is loaded in the background the first time a chunk is checked, or earlier if it is
+ * {@link #prefetch(OperationWorld, int, int) prefetched}; platform listeners prefetch chunks as they load, and
+ * {@link #evict(OperationWorld, int, int) evict} them as they unload. Until a chunk's data has loaded, checks
+ * involving it return the {@link #isCancelOnMiss() miss decision}, so the server thread never waits on storage.
+ * Call {@link #refresh(OperationWorld, int, int)} when a chunk's data changes.
+ * <p>
+ * Each world's chunks are cached in a {@link ConcurrentLong2ObjectMap} keyed by packed chunk coordinates, so
+ * synchronous lookups allocate nothing.
+ *
+ * @param <T> the type of data loaded for a chunk
+ * @since 2.1
+ */
+@SuppressWarnings("unused")
+public class CachedAsyncHandler<T> implements ChunkHandler {
+
+    // By default, operations are canceled until the data needed to allow them has loaded
+    public static final boolean DEFAULT_CANCEL_ON_MISS = true;
+
+    private final AsyncHandler<T> handler;
+    private final boolean cancelOnMiss;
+    private final HandlerMetrics metrics = new HandlerMetrics();
+    private final Map<UUID, ConcurrentLong2ObjectMap<CompletableFuture<T>>> worlds = new ConcurrentHashMap<>();
+
+    public CachedAsyncHandler(@NotNull AsyncHandler<T> handler, boolean cancelOnMiss) {
+        this.handler = handler;
+        this.cancelOnMiss = cancelOnMiss;
+    }
+
+    public CachedAsyncHandler(@NotNull AsyncHandler<T> handler) {
+        this(handler, DEFAULT_CANCEL_ON_MISS);
+    }
+
+    /**
+     * Get the wrapped {@link AsyncHandler}
+     *
+     * @return the wrapped handler
+     * @since 2.1
+     */
+    @NotNull
+    public AsyncHandler<T> getHandler() {
+        return handler;
+    }
+
+    /**
+     * Returns whether checks involving a chunk whose data hasn't loaded yet are canceled
+     *
+     * @return the decision returned on a cache miss
+     * @since 2.1
+     */
+    public boolean isCancelOnMiss() {
+        return cancelOnMiss;
+    }
+
+    /**
+     * Get the cache's hit and miss counts, counted per chunk looked up
+     *
+     * @return the cache metrics
+     * @since 2.1
+     */
+    @NotNull
+    public HandlerMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Start loading a chunk's data in the background, if it isn't cached or loading already
+     *
+     * @param world  the world the chunk is in
+     * @param chunkX the chunk X coordinate
+     * @param chunkZ the chunk Z coordinate
+     * @since 2.1
+     */
+    public void prefetch(@NotNull OperationWorld world, int chunkX, int chunkZ) {
+        getOrLoad(world, chunkX, chunkZ);
+    }
+
+    /**
+     * Reload a chunk's data in the background, if it is cached; the old data is used until the new data has loaded
+     *
+     * @param world  the world the chunk is in
+     * @param chunkX the chunk X coordinate
+     * @param chunkZ the chunk Z coordinate
+     * @since 2.1
+     */
+    public void refresh(@NotNull OperationWorld world, int chunkX, int chunkZ) {
+        final ConcurrentLong2ObjectMap<CompletableFuture<T>> chunks = worlds.get(world.getUuid());
+        final long key = OperationChunk.pack(chunkX, chunkZ);
+        final CompletableFuture<T> current = chunks != null ? chunks.get(key) : null;
+        if (current == null) {
+            return;
+        }
+        load(world, chunkX, chunkZ).whenComplete((data, error) -> {
+            if (error == null) {
+                chunks.replace(key, current, CompletableFuture.completedFuture(data));
+            }
+        });
+    }
+
+    /**
+     * Forget a chunk's data; call this when the chunk unloads
+     *
+     * @param world  the world the chunk is in
+     * @param chunkX the chunk X coordinate
+     * @param chunkZ the chunk Z coordinate
+     * @since 2.1
+     */
+    public void evict(@NotNull OperationWorld world, int chunkX, int chunkZ) {
+        final ConcurrentLong2ObjectMap<CompletableFuture<T>> chunks = worlds.get(world.getUuid());
+        if (chunks != null) {
+            chunks.remove(OperationChunk.pack(chunkX, chunkZ));
+        }
+    }
+
+    /**
+     * Forget the data of every chunk in a world; call this when the world unloads
+     *
+     * @param world the world
+     * @since 2.1
+     */
+    public void evict(@NotNull OperationWorld world) {
+        worlds.remove(world.getUuid());
+    }
+
+    /**
+     * Forget all cached chunk data
+     *
+     * @since 2.1
+     */
+    public void invalidateAll() {
+        worlds.clear();
+    }
+
+    @Override
+    public boolean cancelOperation(@NotNull Operation operation) {
+        final OperationPosition position = operation.getOperationPosition();
+        final CompletableFuture<T> chunk = getLoaded(position.getWorld(),
+                (int) Math.floor(position.getX()) >> 4, (int) Math.floor(position.getZ()) >> 4);
+        return chunk == null ? cancelOnMiss : handler.cancelOperation(operation, chunk.join());
+    }
+
+    @Override
+    public boolean cancelChunkChange(@NotNull OperationUser user, @NotNull OperationChunk from,
+                                     @NotNull OperationChunk to) {
+        final OperationWorld world = user.getWorld();
+        final CompletableFuture<T> fromChunk = getLoaded(world, from.getX(), from.getZ());
+        final CompletableFuture<T> toChunk = getLoaded(world, to.getX(), to.getZ());
+        if (fromChunk == null || toChunk == null) {
+            return cancelOnMiss;
+        }
+        return handler.cancelChunkChange(user, fromChunk.join(), toChunk.join());
+    }
+
+    @Override
+    public boolean cancelNature(@NotNull OperationWorld world,
+                                @NotNull OperationChunk chunk1, @NotNull OperationChunk chunk2) {
+        return cancelNature(world, chunk1.getX(), chunk1.getZ(), chunk2.getX(), chunk2.getZ());
+    }
+
+    @Override
+    public boolean cancelChunkNature(@NotNull OperationWorld world, int chunkX1, int chunkZ1, int chunkX2, int chunkZ2,
+                                     @NotNull Supplier<OperationPosition> position1,
+                                     @NotNull Supplier<OperationPosition> position2) {
+        return cancelNature(world, chunkX1, chunkZ1, chunkX2, chunkZ2);
+    }
+
+    private boolean cancelNature(@NotNull OperationWorld world, int chunkX1, int chunkZ1, int chunkX2, int chunkZ2) {
+        final CompletableFuture<T> chunk1 = getLoaded(world, chunkX1, chunkZ1);
+        final CompletableFuture<T> chunk2 = getLoaded(world, chunkX2, chunkZ2);
+        if (chunk1 == null || chunk2 == null) {
+            return cancelOnMiss;
+        }
+        return handler.cancelNature(world, chunk1.join(), chunk2.join());
+    }
+
+    // Returns a chunk's loaded data, or null (starting a load if needed) if it hasn't loaded yet
+    @Nullable
+    private CompletableFuture<T> getLoaded(@NotNull OperationWorld world, int chunkX, int chunkZ) {
+        final CompletableFuture<T> chunk = getOrLoad(world, chunkX, chunkZ);
+        if (!chunk.isDone() || chunk.isCompletedExceptionally()) {
+            metrics.miss();
+            return null;
+        }
+        metrics.hit();
+        return chunk;
+    }
+
+    @NotNull
+    private CompletableFuture<T> getOrLoad(@NotNull OperationWorld world, int chunkX, int chunkZ) {
+        final ConcurrentLong2ObjectMap<CompletableFuture<T>> chunks = getChunks(world.getUuid());
+        final long key = OperationChunk.pack(chunkX, chunkZ);
+        final CompletableFuture<T> cached = chunks.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Only the thread that claims the entry starts the load; failed loads are forgotten, to be retried
+        final CompletableFuture<T> loading = new CompletableFuture<>();
+        final CompletableFuture<T> existing = chunks.putIfAbsent(key, loading);
+        if (existing != null) {
+            return existing;
+        }
+        load(world, chunkX, chunkZ).whenComplete((data, error) -> {
+            if (error != null) {
+                chunks.remove(key, loading);
+                loading.completeExceptionally(error);
+                return;
+            }
+            loading.complete(data);
+        });
+        return loading;
+    }
+
+    // The world's cached chunks, only creating the map the first time the world is checked
+    @NotNull
+    private ConcurrentLong2ObjectMap<CompletableFuture<T>> getChunks(@NotNull UUID world) {
+        final ConcurrentLong2ObjectMap<CompletableFuture<T>> chunks = worlds.get(world);
+        return chunks != null ? chunks : worlds.computeIfAbsent(world, (uuid) -> new ConcurrentLong2ObjectMap<>());
+    }
+
+    @NotNull
+    private CompletableFuture<T> load(@NotNull OperationWorld world, int chunkX, int chunkZ) {
+        try {
+            return handler.loadChunk(world, chunkX, chunkZ);
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+}
@@ -0,0 +1,399 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.handler;
+
+import net.william278.cloplib.operation.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * A {@link ChunkHandler} that wraps another, caching its nature decisions between pairs of chunks, and its mob
+ * spawning decisions for each chunk.
+ * <p>
+ * Fluids, fire, pistons and dispensers ask about the same few chunk pairs over and over within a tick, and natural
+ * spawning asks about the same chunks for every spawn attempt, so decisions are remembered until the cache is
+ * invalidated. Platform listeners call {@link #tick()} once per server tick; until something first calls it, cached
+ * decisions instead expire after 50 milliseconds, so they can't go stale if no tick source is wired up. Call
+ * {@link #invalidate(OperationWorld, OperationChunk)} whenever chunk ownership changes. All other checks are passed
+ * straight through to the wrapped handler.
+ * <p>
+ * Spawning decisions are cached per chunk, so the wrapped handler's first answer on spawning a monster or passive mob
+ * in a chunk is reused for every other spawn of that kind in the chunk until the cache is invalidated. Only wrap
+ * handlers whose spawning decisions are the same across a whole chunk, at every Y level.
+ * <p>
+ * Each thread keeps its own cache tables, so lookups never contend; only chunk pairs at most 8 chunks apart are cached.
+ *
+ * @since 2.1
+ */
+@SuppressWarnings("unused")
+public class CachingChunkHandler implements ChunkHandler {
+
+    // Default number of chunk pairs each thread's cache table can hold
+    public static final int DEFAULT_CAPACITY = 1024;
+    private static final int MAX_PROBES = 8;
+    private static final int CHUNK_BITS = 28;
+    private static final int DELTA_BITS = 4;
+    private static final long UNCACHEABLE = -1L;
+    private static final long SPAWN_PASSIVE = 0L;
+    private static final long SPAWN_MONSTER = 1L;
+    // Until tick() is first called, cached decisions expire after one tick's worth of time instead
+    private static final long FALLBACK_EXPIRY_NANOS = 50_000_000L;
+
+    private final ChunkHandler handler;
+    private final int capacity;
+    private final AtomicInteger generation = new AtomicInteger(1);
+    private volatile boolean ticked;
+    private volatile long expiresAt = System.nanoTime() + FALLBACK_EXPIRY_NANOS;
+    private final HandlerMetrics metrics = new HandlerMetrics();
+    private final HandlerMetrics spawnMetrics = new HandlerMetrics();
+    private final ThreadLocal<Table> tables;
+    private final ThreadLocal<Table> spawnTables;
+
+    public CachingChunkHandler(@NotNull ChunkHandler handler, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        this.handler = handler;
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.tables = ThreadLocal.withInitial(() -> new Table(this.capacity));
+        this.spawnTables = ThreadLocal.withInitial(() -> new Table(this.capacity));
+    }
+
+    public CachingChunkHandler(@NotNull ChunkHandler handler) {
+        this(handler, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Get the wrapped {@link ChunkHandler}
+     *
+     * @return the wrapped handler
+     * @since 2.1
+     */
+    @NotNull
+    public ChunkHandler getHandler() {
+        return handler;
+    }
+
+    /**
+     * Get the cache's hit and miss counts
+     *
+     * @return the cache metrics
+     * @since 2.1
+     */
+    @NotNull
+    public HandlerMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Get the hit and miss counts of the cached {@link OperationType#MONSTER_SPAWN monster} and
+     * {@link OperationType#PASSIVE_MOB_SPAWN passive mob} spawning decisions
+     *
+     * @return the spawn cache metrics
+     * @since 2.1
+     */
+    @NotNull
+    public HandlerMetrics getSpawnMetrics() {
+        return spawnMetrics;
+    }
+
+    /**
+     * Invalidate all cached decisions; platform listeners call this once per server tick
+     *
+     * @since 2.1
+     */
+    public void tick() {
+        ticked = true;
+        invalidateAll();
+    }
+
+    /**
+     * Invalidate all cached decisions
+     *
+     * @since 2.1
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Invalidate cached decisions involving a chunk; call this when the chunk's ownership changes.
+     * <p>
+     * As ownership changes are rare compared to lookups, this currently invalidates all cached decisions.
+     *
+     * @param world the world the chunk is in
+     * @param chunk the chunk whose ownership changed
+     * @since 2.1
+     */
+    public void invalidate(@NotNull OperationWorld world, @NotNull OperationChunk chunk) {
+        invalidateAll();
+    }
+
+    @Override
+    public boolean cancelNature(@NotNull OperationWorld world,
+                                @NotNull OperationChunk chunk1, @NotNull OperationChunk chunk2) {
+        final long key = key(chunk1.getX(), chunk1.getZ(), chunk2.getX(), chunk2.getZ());
+        if (key == UNCACHEABLE) {
+            return handler.cancelNature(world, chunk1, chunk2);
+        }
+        final Table table = tables.get();
+        final int current = currentGeneration();
+        final int cached = table.get(world.getUuid(), key, current);
+        if (cached != Table.ABSENT) {
+            metrics.hit();
+            return cached == Table.TRUE;
+        }
+        metrics.miss();
+        final boolean cancel = handler.cancelNature(world, chunk1, chunk2);
+        table.put(world.getUuid(), key, current, cancel);
+        return cancel;
+    }
+
+    @Override
+    public boolean cancelChunkNature(@NotNull OperationWorld world, int chunkX1, int chunkZ1, int chunkX2, int chunkZ2,
+                                     @NotNull Supplier<OperationPosition> position1,
+                                     @NotNull Supplier<OperationPosition> position2) {
+        final long key = key(chunkX1, chunkZ1, chunkX2, chunkZ2);
+        if (key == UNCACHEABLE) {
+            return handler.cancelChunkNature(world, chunkX1, chunkZ1, chunkX2, chunkZ2, position1, position2);
+        }
+        final Table table = tables.get();
+        final int current = currentGeneration();
+        final int cached = table.get(world.getUuid(), key, current);
+        if (cached != Table.ABSENT) {
+            metrics.hit();
+            return cached == Table.TRUE;
+        }
+        metrics.miss();
+        final boolean cancel = handler.cancelChunkNature(world, chunkX1, chunkZ1, chunkX2, chunkZ2,
+                position1, position2);
+        table.put(world.getUuid(), key, current, cancel);
+        return cancel;
+    }
+
+    @Override
+    public boolean cancelOperation(@NotNull Operation operation) {
+        return handler.cancelOperation(operation);
+    }
+
+    @Override
+    public boolean cancelChunkOperation(@NotNull OperationType type, @NotNull OperationWorld world,
+                                        int chunkX, int chunkZ, @NotNull Supplier<OperationPosition> position) {
+        final long key = spawnKey(type, chunkX, chunkZ);
+        if (key == UNCACHEABLE) {
+            return handler.cancelChunkOperation(type, world, chunkX, chunkZ, position);
+        }
+        final Table table = spawnTables.get();
+        final int current = currentGeneration();
+        final int cached = table.get(world.getUuid(), key, current);
+        if (cached != Table.ABSENT) {
+            spawnMetrics.hit();
+            return cached == Table.TRUE;
+        }
+        spawnMetrics.miss();
+        final boolean cancel = handler.cancelChunkOperation(type, world, chunkX, chunkZ, position);
+        table.put(world.getUuid(), key, current, cancel);
+        return cancel;
+    }
+
+    @NotNull
+    @Override
+    public BitSet cancelOperationBatch(@Nullable OperationUser user, @NotNull OperationType type,
+                                       @NotNull OperationWorld world, long @NotNull [] positions,
+                                       @NotNull LongFunction<OperationPosition> resolver) {
+        return handler.cancelOperationBatch(user, type, world, positions, resolver);
+    }
+
+    @NotNull
+    @Override
+    public BitSet cancelNatureBatch(@NotNull OperationWorld world, @NotNull OperationPosition source,
+                                    long @NotNull [] positions, @NotNull LongFunction<OperationPosition> resolver) {
+        return handler.cancelNatureBatch(world, source, positions, resolver);
+    }
+
+    @Override
+    public boolean isOperationPoolingEnabled() {
+        return handler.isOperationPoolingEnabled();
+    }
+
+    @Override
+    public boolean isSameChunkShortCircuit() {
+        return handler.isSameChunkShortCircuit();
+    }
+
+    @Override
+    public boolean handlesOperationType(@NotNull OperationType type) {
+        return handler.handlesOperationType(type);
+    }
+
+    @Override
+    public boolean handlesMovement() {
+        return handler.handlesMovement();
+    }
+
+    @Override
+    public boolean handlesNature() {
+        return handler.handlesNature();
+    }
+
+    @Nullable
+    @Override
+    public ClaimedChunkIndex getClaimedChunkIndex() {
+        return handler.getClaimedChunkIndex();
+    }
+
+    @Nullable
+    @Override
+    public ChunkEdgeMask getEdgeMask() {
+        return handler.getEdgeMask();
+    }
+
+    @Override
+    public boolean isEdgeMaskMovement() {
+        return handler.isEdgeMaskMovement();
+    }
+
+    @Nullable
+    @Override
+    public WorldProfile getWorldProfile(@NotNull OperationWorld world) {
+        return handler.getWorldProfile(world);
+    }
+
+    @Override
+    public boolean cancelChunkChange(@NotNull OperationUser user, @NotNull OperationChunk from,
+                                     @NotNull OperationChunk to) {
+        return handler.cancelChunkChange(user, from, to);
+    }
+
+    // Key of a chunk pair: the first chunk's coordinates, then the offset to the second chunk
+    private static long key(int chunkX1, int chunkZ1, int chunkX2, int chunkZ2) {
+        final int dx = chunkX2 - chunkX1;
+        final int dz = chunkZ2 - chunkZ1;
+        if (!fits(chunkX1, CHUNK_BITS) || !fits(chunkZ1, CHUNK_BITS) || !fits(dx, DELTA_BITS) || !fits(dz, DELTA_BITS)) {
+            return UNCACHEABLE;
+        }
+        final long key = ((chunkX1 & ((1L << CHUNK_BITS) - 1)) << (CHUNK_BITS + DELTA_BITS * 2))
+                | ((chunkZ1 & ((1L << CHUNK_BITS) - 1)) << (DELTA_BITS * 2))
+                | ((dx & ((1L << DELTA_BITS) - 1)) << DELTA_BITS)
+                | (dz & ((1L << DELTA_BITS) - 1));
+        return key == UNCACHEABLE ? UNCACHEABLE : key;
+    }
+
+    // Key of a chunk's spawning decision: the chunk's coordinates, then a bit telling monsters and passive mobs apart
+    private static long spawnKey(@NotNull OperationType type, int chunkX, int chunkZ) {
+        final long category;
+        if (type.equals(OperationType.MONSTER_SPAWN)) {
+            category = SPAWN_MONSTER;
+        } else if (type.equals(OperationType.PASSIVE_MOB_SPAWN)) {
+            category = SPAWN_PASSIVE;
+        } else {
+            return UNCACHEABLE;
+        }
+        if (!fits(chunkX, CHUNK_BITS) || !fits(chunkZ, CHUNK_BITS)) {
+            return UNCACHEABLE;
+        }
+        return ((chunkX & ((1L << CHUNK_BITS) - 1)) << (CHUNK_BITS + 1))
+                | ((chunkZ & ((1L << CHUNK_BITS) - 1)) << 1)
+                | category;
+    }
+
+    // The generation of current decisions, expiring them by time if nothing has called tick() yet
+    private int currentGeneration() {
+        if (!ticked) {
+            final long now = System.nanoTime();
+            if (now - expiresAt >= 0) {
+                expiresAt = now + FALLBACK_EXPIRY_NANOS;
+                generation.incrementAndGet();
+            }
+        }
+        return generation.get();
+    }
+
+    private static boolean fits(int value, int bits) {
+        return value << (Integer.SIZE - bits) >> (Integer.SIZE - bits) == value;
+    }
+
+    // Open-addressed table of cached decisions, only ever accessed by its owning thread
+    private static final class Table {
+
+        private static final int ABSENT = 0;
+        private static final int FALSE = 1;
+        private static final int TRUE = 2;
+
+        private final long[] keys;
+        private final UUID[] worlds;
+        private final int[] generations;
+        private final boolean[] results;
+        private final int mask;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.worlds = new UUID[capacity];
+            this.generations = new int[capacity];
+            this.results = new boolean[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private int get(@NotNull UUID world, long key, int generation) {
+            int slot = slot(world, key);
+            for (int probe = 0; probe < MAX_PROBES; probe++, slot = (slot + 1) & mask) {
+                if (generations[slot] != generation) {
+                    return ABSENT;
+                }
+                if (keys[slot] == key && world.equals(worlds[slot])) {
+                    return results[slot] ? TRUE : FALSE;
+                }
+            }
+            return ABSENT;
+        }
+
+        private void put(@NotNull UUID world, long key, int generation, boolean result) {
+            final int home = slot(world, key);
+            int slot = home;
+            for (int probe = 0; probe < MAX_PROBES; probe++, slot = (slot + 1) & mask) {
+                if (generations[slot] != generation) {
+                    break;
+                }
+                if (probe == MAX_PROBES - 1) {
+                    // Neighbourhood is full; evict the entry at the home slot
+                    slot = home;
+                    break;
+                }
+            }
+            keys[slot] = key;
+            worlds[slot] = world;
+            generations[slot] = generation;
+            results[slot] = result;
+        }
+
+        private int slot(@NotNull UUID world, long key) {
+            final long hash = (key ^ world.getLeastSignificantBits()) * 0x9E3779B97F4A7C15L;
+            return (int) (hash >>> 32) & mask;
+        }
+
+    }
+
+}
@@ -0,0 +1,289 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.handler;
+
+import net.william278.cloplib.operation.OperationChunk;
+import net.william278.cloplib.util.ConcurrentLong2ObjectMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which chunks border a chunk with a different owner, so a {@link ChunkHandler} is only asked about nature
+ * crossing a real claim boundary
+ * <p>
+ * A claim plugin returns this from {@link ChunkHandler#getEdgeMask()}, and keeps it current by
+ * {@link #setOwner(UUID, int, int, Object) setting the owner} of every chunk it claims, and clearing it when the
+ * chunk is unclaimed. Each chunk next to a boundary holds a 4-bit mask of which of its neighbours ({@link #NORTH},
+ * {@link #EAST}, {@link #SOUTH}, {@link #WEST}) have a different owner, updated incrementally as owners change. Nature
+ * between chunks with the same owner, including between two unclaimed chunks, is then allowed without calling
+ * {@link ChunkHandler#cancelNature(net.william278.cloplib.operation.OperationWorld, OperationChunk, OperationChunk)}.
+ * <p>
+ * Each world's chunks are held in a {@link ConcurrentLong2ObjectMap}, so lookups allocate nothing, and changing an
+ * owner only updates the changed chunks and their neighbours. Lookups made while
+ * {@link #setOwner(UUID, long[], Object) many chunks} are changing may see some of the changes before others.
+ * <p>
+ * A handler that keeps both this and a {@link ClaimedChunkIndex} should create this
+ * {@link #ChunkEdgeMask(ClaimedChunkIndex) linked} to the index, and only update this; the index is then kept in sync,
+ * with every chunk that has an owner marked as claimed.
+ *
+ * @since 2.1
+ */
+@SuppressWarnings("unused")
+public final class ChunkEdgeMask {
+
+    /**
+     * The neighbour towards negative Z has a different owner
+     */
+    public static final int NORTH = 1;
+    /**
+     * The neighbour towards positive X has a different owner
+     */
+    public static final int EAST = 1 << 1;
+    /**
+     * The neighbour towards positive Z has a different owner
+     */
+    public static final int SOUTH = 1 << 2;
+    /**
+     * The neighbour towards negative X has a different owner
+     */
+    public static final int WEST = 1 << 3;
+
+    private static final int[] DX = {0, 1, 0, -1};
+    private static final int[] DZ = {-1, 0, 1, 0};
+
+    private final Map<UUID, ConcurrentLong2ObjectMap<Edge>> worlds = new ConcurrentHashMap<>();
+    @Nullable
+    private final ClaimedChunkIndex index;
+
+    /**
+     * Create an edge mask that keeps a claimed chunk index in sync, marking every chunk with an owner as claimed
+     *
+     * @param index the claimed chunk index to keep in sync; it should not be updated directly
+     * @since 2.1
+     */
+    public ChunkEdgeMask(@NotNull ClaimedChunkIndex index) {
+        this.index = index;
+    }
+
+    public ChunkEdgeMask() {
+        this.index = null;
+    }
+
+    /**
+     * Set the owner of a chunk, updating the edge masks of it and its neighbours
+     *
+     * @param world  the UUID of the world the chunk is in
+     * @param chunkX the chunk X coordinate
+     * @param chunkZ the chunk Z coordinate
+     * @param owner  the chunk's owner, compared with {@link Object#equals(Object)}; {@code null} if it is unclaimed
+     * @since 2.1
+     */
+    public void setOwner(@NotNull UUID world, int chunkX, int chunkZ, @Nullable Object owner) {
+        setOwner(world, new long[]{OperationChunk.pack(chunkX, chunkZ)}, owner);
+    }
+
+    /**
+     * Set the owner of many chunks, such as all the chunks of a new claim, updating their edge masks and their
+     * neighbours'
+     *
+     * @param world  the UUID of the world the chunks are in
+     * @param chunks the {@link OperationChunk#pack(int, int) packed} chunk coordinates
+     * @param owner  the chunks' owner, compared with {@link Object#equals(Object)}; {@code null} if they are unclaimed
+     * @since 2.1
+     */
+    public synchronized void setOwner(@NotNull UUID world, long @NotNull [] chunks, @Nullable Object owner) {
+        final ConcurrentLong2ObjectMap<Edge> edges = worlds.computeIfAbsent(
+                world, (uuid) -> new ConcurrentLong2ObjectMap<>()
+        );
+
+        // Set the owners of the chunks whose owner changes, noting those that become claimed or unclaimed
+        final long[] changed = new long[chunks.length];
+        final long[] claimed = new long[chunks.length];
+        int changes = 0;
+        int claims = 0;
+        for (long chunk : chunks) {
+            final Edge edge = edges.get(chunk);
+            final Object previous = edge != null ? edge.owner : null;
+            if (Objects.equals(previous, owner)) {
+                continue;
+            }
+            if ((previous == null) != (owner == null)) {
+                claimed[claims++] = chunk;
+            }
+            changed[changes++] = chunk;
+            edges.put(chunk, new Edge(owner, edge != null ? edge.mask : 0));
+        }
+
+        // Recompute the masks of the changed chunks and their neighbours
+        for (int c = 0; c < changes; c++) {
+            final int x = OperationChunk.unpackX(changed[c]);
+            final int z = OperationChunk.unpackZ(changed[c]);
+            updateMask(edges, x, z);
+            for (int i = 0; i < DX.length; i++) {
+                updateMask(edges, x + DX[i], z + DZ[i]);
+            }
+        }
+
+        if (edges.isEmpty()) {
+            worlds.remove(world);
+        }
+        updateIndex(world, Arrays.copyOf(claimed, claims), owner != null);
+    }
+
+    /**
+     * Forget the owners of every chunk in a world
+     *
+     * @param world the UUID of the world
+     * @since 2.1
+     */
+    public synchronized void clear(@NotNull UUID world) {
+        worlds.remove(world);
+        if (index != null) {
+            index.clear(world);
+        }
+    }
+
+    /**
+     * Forget the owners of every chunk
+     *
+     * @since 2.1
+     */
+    public synchronized void clear() {
+        worlds.clear();
+        if (index != null) {
+            index.clear();
+        }
+    }
+
+    /**
+     * Get the owner of a chunk
+     *
+     * @param world  the UUID of the world the chunk is in
+     * @param chunkX the chunk X coordinate
+     * @param chunkZ the chunk Z coordinate
+     * @return the chunk's owner, or {@code null} if it is unclaimed
+     * @since 2.1
+     */
+    @Nullable
+    public Object getOwner(@NotNull UUID world, int chunkX, int chunkZ) {
+        final Edge edge = getEdge(world, OperationChunk.pack(chunkX, chunkZ));
+        return edge != null ? edge.owner : null;
+    }
+
+    /**
+     * Get the edge mask of a chunk
+     *
+     * @param world  the UUID of the world the chunk is in
+     * @param chunkX the chunk X coordinate
+     * @param chunkZ the chunk Z coordinate
+     * @return the mask of {@link #NORTH}, {@link #EAST}, {@link #SOUTH} and {@link #WEST} neighbours with a different
+     * owner; {@code 0} if the chunk isn't on a boundary
+     * @since 2.1
+     */
+    public int getMask(@NotNull UUID world, int chunkX, int chunkZ) {
+        final Edge edge = getEdge(world, OperationChunk.pack(chunkX, chunkZ));
+        return edge != null ? edge.mask : 0;
+    }
+
+    /**
+     * Returns whether two chunks have different owners, so nature between them crosses a claim boundary
+     * <p>
+     * For neighbouring chunks, this is answered from the first chunk's edge mask alone.
+     *
+     * @param world   the UUID of the world the chunks are in
+     * @param chunkX1 the first chunk X coordinate
+     * @param chunkZ1 the first chunk Z coordinate
+     * @param chunkX2 the second chunk X coordinate
+     * @param chunkZ2 the second chunk Z coordinate
+     * @return whether the chunks have different owners
+     * @since 2.1
+     */
+    public boolean isBoundary(@NotNull UUID world, int chunkX1, int chunkZ1, int chunkX2, int chunkZ2) {
+        final ConcurrentLong2ObjectMap<Edge> edges = worlds.get(world);
+        if (edges == null || (chunkX1 == chunkX2 && chunkZ1 == chunkZ2)) {
+            return false;
+        }
+        final Edge edge = edges.get(OperationChunk.pack(chunkX1, chunkZ1));
+        final int direction = direction(chunkX2 - chunkX1, chunkZ2 - chunkZ1);
+        if (direction != 0) {
+            return edge != null && (edge.mask & direction) != 0;
+        }
+        final Edge other = edges.get(OperationChunk.pack(chunkX2, chunkZ2));
+        return !Objects.equals(edge != null ? edge.owner : null, other != null ? other.owner : null);
+    }
+
+    @Nullable
+    private Edge getEdge(@NotNull UUID world, long chunk) {
+        final ConcurrentLong2ObjectMap<Edge> edges = worlds.get(world);
+        return edges != null ? edges.get(chunk) : null;
+    }
+
+    // Mark chunks that gained an owner as claimed, or chunks that lost theirs as unclaimed, in the linked index
+    private void updateIndex(@NotNull UUID world, long @NotNull [] chunks, boolean claimed) {
+        if (index == null) {
+            return;
+        }
+        if (claimed) {
+            index.addAll(world, chunks);
+        } else {
+            index.removeAll(world, chunks);
+        }
+    }
+
+    // Recompute a chunk's mask from its neighbours' owners, dropping it if it is unclaimed and not on a boundary
+    private static void updateMask(@NotNull ConcurrentLong2ObjectMap<Edge> edges, int x, int z) {
+        final long chunk = OperationChunk.pack(x, z);
+        final Edge edge = edges.get(chunk);
+        final Object owner = edge != null ? edge.owner : null;
+        int mask = 0;
+        for (int i = 0; i < DX.length; i++) {
+            final Edge neighbour = edges.get(OperationChunk.pack(x + DX[i], z + DZ[i]));
+            if (!Objects.equals(owner, neighbour != null ? neighbour.owner : null)) {
+                mask |= 1 << i;
+            }
+        }
+        if (owner == null && mask == 0) {
+            edges.remove(chunk);
+        } else if (edge == null || edge.mask != mask) {
+            edges.put(chunk, new Edge(owner, mask));
+        }
+    }
+
+    // The direction bit of a neighbouring chunk offset, or 0 if the chunks aren't neighbours
+    private static int direction(int dx, int dz) {
+        for (int i = 0; i < DX.length; i++) {
+            if (DX[i] == dx && DZ[i] == dz) {
+                return 1 << i;
+            }
+        }
+        return 0;
+    }
+
+    // The owner of a chunk and its edge mask; never mutated once published
+    private record Edge(@Nullable Object owner, int mask) {
+    }
+
+}
@@ -21,10 +21,16 @@ package net.william278.cloplib.handler;
 
 import net.william278.cloplib.operation.OperationChunk;
 import net.william278.cloplib.operation.OperationPosition;
+import net.william278.cloplib.operation.OperationType;
 import net.william278.cloplib.operation.OperationUser;
 import net.william278.cloplib.operation.OperationWorld;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
 
 /**
  * Represents a {@link Handler} that deals with regions that use {@link OperationChunk}s
@@ -34,10 +40,20 @@ import org.jetbrains.annotations.NotNull;
 @SuppressWarnings("unused")
 public interface ChunkHandler extends Handler {
 
+    // Maximum number of distinct chunks remembered while checking a batch
+    int BATCH_CHUNK_MEMO_SIZE = 16;
+
     @Override
     @ApiStatus.Internal
     default boolean cancelMovement(@NotNull OperationUser user, @NotNull OperationPosition from,
                                    @NotNull OperationPosition to) {
+        if (isSameChunkShortCircuit()) {
+            if (isSameChunk(from, to) && from.getWorld().getUuid().equals(to.getWorld().getUuid())) {
+                ChunkHandlerMetrics.SAME_CHUNK.hit();
+                return false;
+            }
+            ChunkHandlerMetrics.SAME_CHUNK.miss();
+        }
         return cancelChunkChange(user, from.getChunk(), to.getChunk());
     }
 
@@ -45,9 +61,229 @@ public interface ChunkHandler extends Handler {
     @ApiStatus.Internal
     default boolean cancelNature(@NotNull OperationWorld world,
                                  @NotNull OperationPosition position1, @NotNull OperationPosition position2) {
+        if (isSameChunkShortCircuit()) {
+            if (isSameChunk(position1, position2)) {
+                ChunkHandlerMetrics.SAME_CHUNK.hit();
+                return false;
+            }
+            ChunkHandlerMetrics.SAME_CHUNK.miss();
+        }
+        if (isSameOwner(world, (int) Math.floor(position1.getX()) >> 4, (int) Math.floor(position1.getZ()) >> 4,
+                (int) Math.floor(position2.getX()) >> 4, (int) Math.floor(position2.getZ()) >> 4)) {
+            return false;
+        }
         return cancelNature(world, position1.getChunk(), position2.getChunk());
     }
 
+    @Override
+    @ApiStatus.Internal
+    default boolean cancelOperation(@NotNull OperationType type, @NotNull OperationWorld world, int x, int y, int z,
+                                    @NotNull Supplier<OperationPosition> position) {
+        return cancelChunkOperation(type, world, x >> 4, z >> 4, position);
+    }
+
+    @Override
+    @ApiStatus.Internal
+    default boolean cancelNature(@NotNull OperationWorld world, int x1, int y1, int z1, int x2, int y2, int z2,
+                                 @NotNull Supplier<OperationPosition> position1,
+                                 @NotNull Supplier<OperationPosition> position2) {
+        if (isSameChunkShortCircuit()) {
+            if (x1 >> 4 == x2 >> 4 && z1 >> 4 == z2 >> 4) {
+                ChunkHandlerMetrics.SAME_CHUNK.hit();
+                return false;
+            }
+            ChunkHandlerMetrics.SAME_CHUNK.miss();
+        }
+        if (isSameOwner(world, x1 >> 4, z1 >> 4, x2 >> 4, z2 >> 4)) {
+            return false;
+        }
+        return cancelChunkNature(world, x1 >> 4, z1 >> 4, x2 >> 4, z2 >> 4, position1, position2);
+    }
+
+    // Nature checks between chunks are resolved once per distinct chunk in the batch
+    @Override
+    @NotNull
+    default BitSet cancelNatureBatch(@NotNull OperationWorld world, @NotNull OperationPosition source,
+                                     long @NotNull [] positions, @NotNull LongFunction<OperationPosition> resolver) {
+        final BitSet canceled = new BitSet(positions.length);
+        final int sourceChunkX = (int) Math.floor(source.getX()) >> 4;
+        final int sourceChunkZ = (int) Math.floor(source.getZ()) >> 4;
+        final long[] checkedChunks = new long[Math.min(positions.length, BATCH_CHUNK_MEMO_SIZE)];
+        final boolean[] checkedResults = new boolean[checkedChunks.length];
+        int checked = 0;
+        for (int i = 0; i < positions.length; i++) {
+            final long packed = positions[i];
+            final int chunkX = OperationPosition.unpackBlockX(packed) >> 4;
+            final int chunkZ = OperationPosition.unpackBlockZ(packed) >> 4;
+            if (isSameChunkShortCircuit()) {
+                if (chunkX == sourceChunkX && chunkZ == sourceChunkZ) {
+                    ChunkHandlerMetrics.SAME_CHUNK.hit();
+                    continue;
+                }
+                ChunkHandlerMetrics.SAME_CHUNK.miss();
+            }
+            final long chunk = OperationChunk.pack(chunkX, chunkZ);
+
+            // Look up whether this chunk was already checked in the batch
+            int index = -1;
+            for (int j = 0; j < checked; j++) {
+                if (checkedChunks[j] == chunk) {
+                    index = j;
+                    break;
+                }
+            }
+            final boolean cancel;
+            if (index >= 0) {
+                cancel = checkedResults[index];
+            } else {
+                cancel = !isSameOwner(world, sourceChunkX, sourceChunkZ, chunkX, chunkZ)
+                        && cancelChunkNature(world, sourceChunkX, sourceChunkZ, chunkX, chunkZ,
+                        () -> source, () -> resolver.apply(packed));
+                if (checked < checkedChunks.length) {
+                    checkedChunks[checked] = chunk;
+                    checkedResults[checked++] = cancel;
+                }
+            }
+            if (cancel) {
+                canceled.set(i);
+            }
+        }
+        return canceled;
+    }
+
+    /**
+     * Returns whether an operation without a user, taking place in a chunk, should be canceled
+     * <p>
+     * Override this to check operations by chunk coordinates alone. By default, it bridges to
+     * {@link #cancelOperation(OperationType, OperationPosition)}, resolving the position.
+     *
+     * @param type     the type of operation
+     * @param world    the world the operation is taking place in
+     * @param chunkX   the chunk X coordinate
+     * @param chunkZ   the chunk Z coordinate
+     * @param position supplier of the position the operation is taking place at, if it is needed
+     * @return whether the operation should be canceled
+     * @since 2.1
+     */
+    default boolean cancelChunkOperation(@NotNull OperationType type, @NotNull OperationWorld world,
+                                         int chunkX, int chunkZ, @NotNull Supplier<OperationPosition> position) {
+        return cancelOperation(type, position.get());
+    }
+
+    /**
+     * Returns whether a nature operation between two chunks should be canceled
+     * <p>
+     * Override this to check nature by chunk coordinates alone. By default, it bridges to
+     * {@link #cancelNature(OperationWorld, OperationChunk, OperationChunk)}, resolving both positions' chunks.
+     *
+     * @param world     the world the operation is taking place in
+     * @param chunkX1   the first chunk X coordinate
+     * @param chunkZ1   the first chunk Z coordinate
+     * @param chunkX2   the second chunk X coordinate
+     * @param chunkZ2   the second chunk Z coordinate
+     * @param position1 supplier of the first position, if it is needed
+     * @param position2 supplier of the second position, if it is needed
+     * @return whether the operation should be canceled
+     * @since 2.1
+     */
+    default boolean cancelChunkNature(@NotNull OperationWorld world, int chunkX1, int chunkZ1, int chunkX2, int chunkZ2,
+                                      @NotNull Supplier<OperationPosition> position1,
+                                      @NotNull Supplier<OperationPosition> position2) {
+        return cancelNature(world, position1.get(), position2.get());
+    }
+
+    /**
+     * Returns whether movement and nature checks between two positions in the same chunk should be skipped.
+     * <p>
+     * Within a single chunk, a chunk-based handler's answer can't change, so when this is enabled (the default)
+     * such checks return {@code false} without calling {@link #cancelChunkChange(OperationUser, OperationChunk,
+     * OperationChunk)} or {@link #cancelNature(OperationWorld, OperationChunk, OperationChunk)}. Chunks are worked
+     * out from the raw coordinates, without calling {@link OperationPosition#getChunk()}. Override this to return
+     * {@code false} if your handler must see every check.
+     *
+     * @return whether same-chunk checks are short-circuited
+     * @since 2.1
+     */
+    default boolean isSameChunkShortCircuit() {
+        return true;
+    }
+
+    /**
+     * Get the edge mask of chunk ownership, if this handler keeps one
+     * <p>
+     * When an edge mask is returned, nature checks between chunks the mask shows have the same owner return
+     * {@code false} without calling {@link #cancelNature(OperationWorld, OperationChunk, OperationChunk)} or
+     * {@link #cancelChunkNature(OperationWorld, int, int, int, int, Supplier, Supplier)}, so only nature crossing a
+     * claim boundary reaches this handler. Movement is only skipped the same way if
+     * {@link #isEdgeMaskMovement()} is also enabled; otherwise, the mask's owners are just used to tell
+     * {@link MovementTracker} which region a player is in.
+     *
+     * @return the edge mask, or {@code null} if every nature check between chunks should be passed to this handler
+     * @since 2.1
+     */
+    @Nullable
+    default ChunkEdgeMask getEdgeMask() {
+        return null;
+    }
+
+    /**
+     * Returns whether movement between chunks the {@link #getEdgeMask() edge mask} shows have the same owner may be
+     * allowed without calling {@link #cancelChunkChange(OperationUser, OperationChunk, OperationChunk)}
+     * <p>
+     * Only enable this if movement is decided by chunk owner alone, with no per-chunk trust or plots within one
+     * owner's land.
+     *
+     * @return whether same-owner movement skips this handler; {@code false} by default
+     * @since 2.1
+     */
+    default boolean isEdgeMaskMovement() {
+        return false;
+    }
+
+    /**
+     * Get metrics for nature checks answered from the {@link #getEdgeMask() edge mask}, shared by all chunk handlers.
+     * Hits are checks that were skipped; misses are boundary crossings that were passed on to the handler.
+     *
+     * @return the edge mask metrics
+     * @since 2.1
+     */
+    @NotNull
+    static HandlerMetrics getEdgeMaskMetrics() {
+        return ChunkHandlerMetrics.EDGE_MASK;
+    }
+
+    /**
+     * Get metrics for the {@link #isSameChunkShortCircuit() same-chunk short-circuit}, shared by all chunk handlers.
+     * Hits are checks that were skipped; misses are checks that were passed on to the handler.
+     *
+     * @return the same-chunk short-circuit metrics
+     * @since 2.1
+     */
+    @NotNull
+    static HandlerMetrics getSameChunkMetrics() {
+        return ChunkHandlerMetrics.SAME_CHUNK;
+    }
+
+    // Returns whether the edge mask shows two chunks have the same owner, so nature between them can't be canceled
+    private boolean isSameOwner(@NotNull OperationWorld world, int chunkX1, int chunkZ1, int chunkX2, int chunkZ2) {
+        final ChunkEdgeMask mask = getEdgeMask();
+        if (mask == null) {
+            return false;
+        }
+        if (mask.isBoundary(world.getUuid(), chunkX1, chunkZ1, chunkX2, chunkZ2)) {
+            ChunkHandlerMetrics.EDGE_MASK.miss();
+            return false;
+        }
+        ChunkHandlerMetrics.EDGE_MASK.hit();
+        return true;
+    }
+
+    // Returns whether two positions are in the same chunk, using their raw coordinates
+    private static boolean isSameChunk(@NotNull OperationPosition position1, @NotNull OperationPosition position2) {
+        return (int) Math.floor(position1.getX()) >> 4 == (int) Math.floor(position2.getX()) >> 4
+                && (int) Math.floor(position1.getZ()) >> 4 == (int) Math.floor(position2.getZ()) >> 4;
+    }
+
     /**
      * Cancel a {@link OperationUser}'s movement between two {@link OperationChunk}s
      *
@@ -0,0 +1,34 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.handler;
+
+// Holds metrics shared by all ChunkHandler instances, as interfaces can't have private state
+final class ChunkHandlerMetrics {
+
+    // Hits are checks skipped because both positions were in the same chunk
+    static final HandlerMetrics SAME_CHUNK = new HandlerMetrics();
+
+    // Hits are nature checks skipped because the edge mask showed both chunks had the same owner
+    static final HandlerMetrics EDGE_MASK = new HandlerMetrics();
+
+    private ChunkHandlerMetrics() {
+    }
+
+}
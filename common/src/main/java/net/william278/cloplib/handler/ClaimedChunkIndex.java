@@ -0,0 +1,391 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.handler;
+
+import net.william278.cloplib.operation.OperationChunk;
+import net.william278.cloplib.operation.OperationPosition;
+import net.william278.cloplib.operation.OperationType;
+import net.william278.cloplib.operation.OperationTypeSet;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index of which chunks contain claims, letting listeners decide natural operations in the wilderness without
+ * calling the {@link Handler}
+ * <p>
+ * A claim plugin returns this from {@link Handler#getClaimedChunkIndex()}, and keeps it current by
+ * {@link #add(UUID, int, int) adding} every chunk a claim overlaps, and {@link #remove(UUID, int, int) removing} it
+ * once no claims overlap it. Natural operations, such as fire spread, fluid flow and mob spawning, that only
+ * involve unclaimed chunks are then canceled only if their type is {@link #setWildernessCanceled(Collection)
+ * canceled in the wilderness}, without building positions or calling the handler.
+ * <p>
+ * Lookups are lock-free and allocate nothing; each world's chunks are copied on write, as claims change rarely
+ * compared to how often natural operations are checked.
+ * <p>
+ * Handlers that also keep a {@link ChunkEdgeMask} don't need to update this themselves: pass it to
+ * {@link ChunkEdgeMask#ChunkEdgeMask(ClaimedChunkIndex)}, and the mask marks every chunk with an owner as claimed.
+ *
+ * @since 2.1
+ */
+@SuppressWarnings("unused")
+public final class ClaimedChunkIndex {
+
+    private static final ChunkSet EMPTY = new ChunkSet(new long[0], false, 0);
+
+    private final Map<UUID, ChunkSet> worlds = new ConcurrentHashMap<>();
+    private volatile OperationTypeSet wildernessCanceled = new OperationTypeSet();
+
+    /**
+     * Mark a chunk as containing a claim
+     *
+     * @param world  the UUID of the world the chunk is in
+     * @param chunkX the chunk X coordinate
+     * @param chunkZ the chunk Z coordinate
+     * @since 2.1
+     */
+    public void add(@NotNull UUID world, int chunkX, int chunkZ) {
+        final long chunk = OperationChunk.pack(chunkX, chunkZ);
+        worlds.compute(world, (uuid, chunks) -> (chunks == null ? EMPTY : chunks).with(chunk));
+    }
+
+    /**
+     * Mark a chunk as no longer containing any claims
+     *
+     * @param world  the UUID of the world the chunk is in
+     * @param chunkX the chunk X coordinate
+     * @param chunkZ the chunk Z coordinate
+     * @since 2.1
+     */
+    public void remove(@NotNull UUID world, int chunkX, int chunkZ) {
+        worlds.computeIfPresent(world, (uuid, chunks) -> {
+            final ChunkSet removed = chunks.without(OperationChunk.pack(chunkX, chunkZ));
+            return removed.size == 0 ? null : removed;
+        });
+    }
+
+    /**
+     * Mark many chunks as containing a claim, copying the world's chunks once
+     *
+     * @param world  the UUID of the world the chunks are in
+     * @param chunks the {@link OperationChunk#pack(int, int) packed} chunk coordinates
+     * @since 2.1
+     */
+    public void addAll(@NotNull UUID world, long @NotNull [] chunks) {
+        if (chunks.length > 0) {
+            worlds.compute(world, (uuid, set) -> (set == null ? EMPTY : set).withAll(chunks));
+        }
+    }
+
+    /**
+     * Mark many chunks as no longer containing any claims, copying the world's chunks once
+     *
+     * @param world  the UUID of the world the chunks are in
+     * @param chunks the {@link OperationChunk#pack(int, int) packed} chunk coordinates
+     * @since 2.1
+     */
+    public void removeAll(@NotNull UUID world, long @NotNull [] chunks) {
+        if (chunks.length > 0) {
+            worlds.computeIfPresent(world, (uuid, set) -> {
+                final ChunkSet removed = set.withoutAll(chunks);
+                return removed.size == 0 ? null : removed;
+            });
+        }
+    }
+
+    /**
+     * Replace the claimed chunks of a world, such as when claims are first loaded
+     *
+     * @param world  the UUID of the world
+     * @param chunks the {@link OperationChunk#pack(int, int) packed} coordinates of every claimed chunk in the world
+     * @since 2.1
+     */
+    public void set(@NotNull UUID world, long @NotNull [] chunks) {
+        final ChunkSet set = ChunkSet.of(chunks);
+        if (set.size == 0) {
+            worlds.remove(world);
+            return;
+        }
+        worlds.put(world, set);
+    }
+
+    /**
+     * Forget the claimed chunks of a world
+     *
+     * @param world the UUID of the world
+     * @since 2.1
+     */
+    public void clear(@NotNull UUID world) {
+        worlds.remove(world);
+    }
+
+    /**
+     * Forget all claimed chunks
+     *
+     * @since 2.1
+     */
+    public void clear() {
+        worlds.clear();
+    }
+
+    /**
+     * Set the operation types that are canceled in the wilderness; by default, none are
+     *
+     * @param types the operation types to cancel when they only involve unclaimed chunks
+     * @since 2.1
+     */
+    public void setWildernessCanceled(@NotNull Collection<OperationType> types) {
+        this.wildernessCanceled = new OperationTypeSet(types);
+    }
+
+    /**
+     * Returns whether an operation type is canceled in the wilderness
+     *
+     * @param type the operation type
+     * @return whether operations of the type are canceled when they only involve unclaimed chunks
+     * @since 2.1
+     */
+    public boolean isWildernessCanceled(@NotNull OperationType type) {
+        return wildernessCanceled.contains(type);
+    }
+
+    /**
+     * Returns whether a chunk contains a claim
+     *
+     * @param world  the UUID of the world the chunk is in
+     * @param chunkX the chunk X coordinate
+     * @param chunkZ the chunk Z coordinate
+     * @return whether the chunk is claimed
+     * @since 2.1
+     */
+    public boolean isClaimed(@NotNull UUID world, int chunkX, int chunkZ) {
+        final ChunkSet chunks = worlds.get(world);
+        return chunks != null && chunks.contains(OperationChunk.pack(chunkX, chunkZ));
+    }
+
+    /**
+     * Returns whether the chunk containing a block contains a claim
+     *
+     * @param world the UUID of the world the block is in
+     * @param x     the block X coordinate
+     * @param z     the block Z coordinate
+     * @return whether the block's chunk is claimed
+     * @since 2.1
+     */
+    public boolean isBlockClaimed(@NotNull UUID world, int x, int z) {
+        return isClaimed(world, x >> 4, z >> 4);
+    }
+
+    /**
+     * Returns whether the chunk containing any of a batch of blocks contains a claim
+     *
+     * @param world  the UUID of the world the blocks are in
+     * @param blocks the {@link OperationPosition#packBlock(int, int, int) packed} block positions
+     * @return whether any of the blocks' chunks are claimed
+     * @since 2.1
+     */
+    public boolean isAnyBlockClaimed(@NotNull UUID world, long @NotNull [] blocks) {
+        final ChunkSet chunks = worlds.get(world);
+        if (chunks == null) {
+            return false;
+        }
+        long last = 0;
+        for (int i = 0; i < blocks.length; i++) {
+            final long chunk = OperationPosition.packedBlockToChunk(blocks[i]);
+            if ((i == 0 || chunk != last) && chunks.contains(chunk)) {
+                return true;
+            }
+            last = chunk;
+        }
+        return false;
+    }
+
+    /**
+     * Get the number of claimed chunks in a world
+     *
+     * @param world the UUID of the world
+     * @return the number of claimed chunks
+     * @since 2.1
+     */
+    public int size(@NotNull UUID world) {
+        final ChunkSet chunks = worlds.get(world);
+        return chunks == null ? 0 : chunks.size;
+    }
+
+    // Immutable open-addressed set of packed chunk coordinates; the zero key is held separately
+    private static final class ChunkSet {
+
+        private final long[] keys;
+        private final boolean hasZero;
+        private final int size;
+        private final int mask;
+
+        private ChunkSet(long @NotNull [] keys, boolean hasZero, int size) {
+            this.keys = keys;
+            this.hasZero = hasZero;
+            this.size = size;
+            this.mask = keys.length - 1;
+        }
+
+        @NotNull
+        private static ChunkSet of(long @NotNull [] chunks) {
+            final long[] table = new long[capacity(chunks.length)];
+            boolean hasZero = false;
+            int size = 0;
+            for (long key : chunks) {
+                if (key == 0) {
+                    size += hasZero ? 0 : 1;
+                    hasZero = true;
+                } else if (insert(table, key)) {
+                    size++;
+                }
+            }
+            return new ChunkSet(table, hasZero, size);
+        }
+
+        private boolean contains(long key) {
+            if (key == 0) {
+                return hasZero;
+            }
+            if (keys.length == 0) {
+                return false;
+            }
+            for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+                final long current = keys[slot];
+                if (current == key) {
+                    return true;
+                }
+                if (current == 0) {
+                    return false;
+                }
+            }
+        }
+
+        @NotNull
+        private ChunkSet with(long key) {
+            if (contains(key)) {
+                return this;
+            }
+            if (key == 0) {
+                return new ChunkSet(keys, true, size + 1);
+            }
+            return rebuild(size + 1, key, 0);
+        }
+
+        @NotNull
+        private ChunkSet without(long key) {
+            if (!contains(key)) {
+                return this;
+            }
+            if (key == 0) {
+                return new ChunkSet(keys, false, size - 1);
+            }
+            return rebuild(size - 1, 0, key);
+        }
+
+        @NotNull
+        private ChunkSet withAll(long @NotNull [] added) {
+            final long[] table = new long[capacity(size + added.length)];
+            boolean zero = hasZero;
+            int newSize = size;
+            for (long key : keys) {
+                if (key != 0) {
+                    insert(table, key);
+                }
+            }
+            for (long key : added) {
+                if (key == 0) {
+                    newSize += zero ? 0 : 1;
+                    zero = true;
+                } else if (insert(table, key)) {
+                    newSize++;
+                }
+            }
+            return new ChunkSet(table, zero, newSize);
+        }
+
+        @NotNull
+        private ChunkSet withoutAll(long @NotNull [] removed) {
+            final ChunkSet skipped = of(removed);
+            final boolean zero = hasZero && !skipped.hasZero;
+            final long[] table = new long[capacity(size)];
+            int newSize = zero ? 1 : 0;
+            for (long key : keys) {
+                if (key != 0 && !skipped.contains(key)) {
+                    insert(table, key);
+                    newSize++;
+                }
+            }
+            return new ChunkSet(table, zero, newSize);
+        }
+
+        // Copy into a table sized for the new size, adding and skipping the given keys (zero for neither)
+        @NotNull
+        private ChunkSet rebuild(int newSize, long added, long skipped) {
+            final long[] table = new long[capacity(newSize)];
+            for (long key : keys) {
+                if (key != 0 && key != skipped) {
+                    insert(table, key);
+                }
+            }
+            if (added != 0) {
+                insert(table, added);
+            }
+            return new ChunkSet(table, hasZero, newSize);
+        }
+
+        private int slot(long key) {
+            return slot(key, mask);
+        }
+
+        // Table size keeping the load factor at most one half
+        private static int capacity(int size) {
+            int capacity = 4;
+            while (capacity < size * 2) {
+                capacity <<= 1;
+            }
+            return capacity;
+        }
+
+        // Returns whether the key was inserted, rather than already present
+        private static boolean insert(long @NotNull [] table, long key) {
+            final int mask = table.length - 1;
+            int slot = slot(key, mask);
+            while (table[slot] != 0) {
+                if (table[slot] == key) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = key;
+            return true;
+        }
+
+        private static int slot(long key, int mask) {
+            final long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash >>> 32) & mask;
+        }
+
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.handler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A {@link TypeChecker} that answers lookups against sets of keys normalized ahead of time
+ * <p>
+ * Each key is stored both bare ({@code wheat}) and namespaced ({@code minecraft:wheat}), so the IDs that platforms
+ * pass in can be looked up as they are, without allocating. Only IDs that aren't already lower-case and trimmed are
+ * normalized at lookup time.
+ *
+ * @since 2.1
+ */
+public final class CompiledTypeChecker implements TypeChecker {
+
+    private static final String NAMESPACE = "minecraft:";
+
+    private final Set<String> farmBlocks;
+    private final Set<String> pressureSensitiveBlocks;
+    private final Set<String> griefingMobs;
+
+    private CompiledTypeChecker(@NotNull Collection<String> farmBlocks,
+                                @NotNull Collection<String> pressureSensitiveBlocks,
+                                @NotNull Collection<String> griefingMobs) {
+        this.farmBlocks = compile(farmBlocks);
+        this.pressureSensitiveBlocks = compile(pressureSensitiveBlocks);
+        this.griefingMobs = compile(griefingMobs);
+    }
+
+    /**
+     * Compile a checker from lists of block and mob keys, with or without the {@code minecraft:} namespace
+     *
+     * @param farmBlocks              the farm block keys
+     * @param pressureSensitiveBlocks the pressure-sensitive block keys
+     * @param griefingMobs            the griefing mob keys
+     * @return the compiled checker
+     * @since 2.1
+     */
+    @NotNull
+    public static CompiledTypeChecker of(@NotNull Collection<String> farmBlocks,
+                                         @NotNull Collection<String> pressureSensitiveBlocks,
+                                         @NotNull Collection<String> griefingMobs) {
+        return new CompiledTypeChecker(farmBlocks, pressureSensitiveBlocks, griefingMobs);
+    }
+
+    @Override
+    public boolean isFarmMaterial(@NotNull String material) {
+        return contains(farmBlocks, material);
+    }
+
+    @Override
+    public boolean isPressureSensitiveMaterial(@NotNull String material) {
+        return contains(pressureSensitiveBlocks, material);
+    }
+
+    @Override
+    public boolean isGriefingMob(@NotNull String mob) {
+        return contains(griefingMobs, mob);
+    }
+
+    private static boolean contains(@NotNull Set<String> keys, @NotNull String key) {
+        if (isNormalized(key)) {
+            return keys.contains(key);
+        }
+        return keys.contains(formatKey(key));
+    }
+
+    @NotNull
+    private static Set<String> compile(@NotNull Collection<String> keys) {
+        final Set<String> compiled = new HashSet<>(keys.size() * 4);
+        for (String key : keys) {
+            final String formatted = formatKey(key).intern();
+            compiled.add(formatted);
+            compiled.add((NAMESPACE + formatted).intern());
+        }
+        return Set.copyOf(compiled);
+    }
+
+    // Whether a key looks the same after formatting, bar the namespace prefix, which the compiled sets include
+    private static boolean isNormalized(@NotNull String key) {
+        final int length = key.length();
+        if (length == 0 || key.charAt(0) <= ' ' || key.charAt(length - 1) <= ' ') {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (Character.isUpperCase(key.charAt(i))) {
+                return false;
+            }
+        }
+        return key.lastIndexOf(NAMESPACE) <= 0;
+    }
+
+    @NotNull
+    private static String formatKey(@NotNull String key) {
+        return key.trim().toLowerCase().replace(NAMESPACE, "");
+    }
+
+}
@@ -21,12 +21,22 @@ package net.william278.cloplib.handler;
 
 import net.william278.cloplib.operation.Operation;
 import net.william278.cloplib.operation.OperationPosition;
+import net.william278.cloplib.operation.OperationType;
 import net.william278.cloplib.operation.OperationUser;
 import net.william278.cloplib.operation.OperationWorld;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
 
 /**
  * Represents a handler for processing {@link Operation}
+ * <p>
+ * On region-threaded servers, such as Folia, handler methods are called concurrently from the threads of different
+ * regions. Implementations used there must be thread-safe, and should not block, as a blocked call stalls the ticking
+ * of that region. Pooled operations are thread-local, so may be used freely within a call, but not retained after it.
  *
  * @since 1.0
  */
@@ -34,6 +44,10 @@ public interface Handler {
 
     /**
      * Returns whether an operation should be canceled
+     * <p>
+     * If this handler {@link #isOperationPoolingEnabled() enables operation pooling}, the operation passed here may be
+     * a {@link Operation#isPooled() pooled} instance that is reset and reused as soon as this method returns. Handlers
+     * must then not retain it, nor hand it to another thread; use {@link Operation#copy()} to keep hold of it.
      *
      * @param operation the operation to check
      * @return whether the operation should be canceled
@@ -41,6 +55,239 @@ public interface Handler {
      */
     boolean cancelOperation(@NotNull Operation operation);
 
+    /**
+     * Returns whether an operation without a user, such as a naturally occurring event, should be canceled
+     *
+     * @param type     the type of operation
+     * @param position the position the operation is taking place at
+     * @return whether the operation should be canceled
+     * @since 2.1
+     */
+    default boolean cancelOperation(@NotNull OperationType type, @NotNull OperationPosition position) {
+        return cancelOperation(type, position, type.isSilent());
+    }
+
+    /**
+     * Returns whether an operation without a user, such as a naturally occurring event, should be canceled
+     * <p>
+     * If {@link #isOperationPoolingEnabled() operation pooling} is enabled, the check is carried out with this
+     * thread's pooled {@link Operation}, rather than allocating a new one.
+     *
+     * @param type     the type of operation
+     * @param position the position the operation is taking place at
+     * @param silent   whether the operation should be silent; not displayed to the user if it is canceled
+     * @return whether the operation should be canceled
+     * @since 2.1
+     */
+    default boolean cancelOperation(@NotNull OperationType type, @NotNull OperationPosition position, boolean silent) {
+        if (!isOperationPoolingEnabled()) {
+            return cancelOperation(Operation.of(type, position, silent));
+        }
+        final Operation operation = Operation.acquire(type, position, silent);
+        try {
+            return cancelOperation(operation);
+        } finally {
+            operation.release();
+        }
+    }
+
+    /**
+     * Returns whether an operation without a user, taking place at a block, should be canceled
+     * <p>
+     * This overload lets handlers that only need block coordinates skip materializing an {@link OperationPosition}.
+     * It isn't allocation-free: callers usually pass a capturing lambda as the supplier, which is only free if the JIT
+     * eliminates it. By default, it bridges to {@link #cancelOperation(OperationType, OperationPosition)}, resolving
+     * the position.
+     *
+     * @param type     the type of operation
+     * @param world    the world the operation is taking place in
+     * @param x        the block X coordinate
+     * @param y        the block Y coordinate
+     * @param z        the block Z coordinate
+     * @param position supplier of the position the operation is taking place at, if it is needed
+     * @return whether the operation should be canceled
+     * @since 2.1
+     */
+    default boolean cancelOperation(@NotNull OperationType type, @NotNull OperationWorld world, int x, int y, int z,
+                                    @NotNull Supplier<OperationPosition> position) {
+        return cancelOperation(type, position.get());
+    }
+
+    /**
+     * Returns whether a nature operation between two blocks should be canceled
+     * <p>
+     * This overload lets handlers that only need block coordinates skip materializing {@link OperationPosition}s.
+     * As with {@link #cancelOperation(OperationType, OperationWorld, int, int, int, Supplier)}, the suppliers
+     * themselves may still be allocated. By default, it bridges to
+     * {@link #cancelNature(OperationWorld, OperationPosition, OperationPosition)}, resolving both positions.
+     *
+     * @param world     the world the operation is taking place in
+     * @param x1        the first block X coordinate
+     * @param y1        the first block Y coordinate
+     * @param z1        the first block Z coordinate
+     * @param x2        the second block X coordinate
+     * @param y2        the second block Y coordinate
+     * @param z2        the second block Z coordinate
+     * @param position1 supplier of the first position, if it is needed
+     * @param position2 supplier of the second position, if it is needed
+     * @return whether the operation should be canceled
+     * @since 2.1
+     */
+    default boolean cancelNature(@NotNull OperationWorld world, int x1, int y1, int z1, int x2, int y2, int z2,
+                                 @NotNull Supplier<OperationPosition> position1,
+                                 @NotNull Supplier<OperationPosition> position2) {
+        return cancelNature(world, position1.get(), position2.get());
+    }
+
+    /**
+     * Returns which of a batch of operations of the same type, such as blocks broken by an explosion, should be canceled
+     * <p>
+     * Override this to resolve every affected region in one pass. By default, each block is checked in turn; without
+     * a user through {@link #cancelOperation(OperationType, OperationWorld, int, int, int, Supplier)}, otherwise
+     * through {@link #cancelOperation(Operation)}.
+     *
+     * @param user      the user who performed the operations, if any
+     * @param type      the type of operation
+     * @param world     the world the operations are taking place in
+     * @param positions the {@link OperationPosition#packBlock(int, int, int) packed} block positions of the operations
+     * @param resolver  function resolving a packed block position to its {@link OperationPosition}, if it is needed
+     * @return the indices in {@code positions} of the operations that should be canceled
+     * @since 2.1
+     */
+    @NotNull
+    default BitSet cancelOperationBatch(@Nullable OperationUser user, @NotNull OperationType type,
+                                        @NotNull OperationWorld world, long @NotNull [] positions,
+                                        @NotNull LongFunction<OperationPosition> resolver) {
+        final BitSet canceled = new BitSet(positions.length);
+        for (int i = 0; i < positions.length; i++) {
+            final long packed = positions[i];
+            if (user == null ? cancelOperation(
+                    type, world,
+                    OperationPosition.unpackBlockX(packed),
+                    OperationPosition.unpackBlockY(packed),
+                    OperationPosition.unpackBlockZ(packed),
+                    () -> resolver.apply(packed)
+            ) : cancelOperation(Operation.of(user, type, resolver.apply(packed)))) {
+                canceled.set(i);
+            }
+        }
+        return canceled;
+    }
+
+    /**
+     * Returns which of a batch of nature operations from a single source, such as blocks moved by a piston, should
+     * be canceled
+     * <p>
+     * Override this to resolve every affected region in one pass. By default, each block is checked in turn through
+     * {@link #cancelNature(OperationWorld, int, int, int, int, int, int, Supplier, Supplier)}.
+     *
+     * @param world     the world the operations are taking place in
+     * @param source    the position the operations originate from
+     * @param positions the {@link OperationPosition#packBlock(int, int, int) packed} block positions affected
+     * @param resolver  function resolving a packed block position to its {@link OperationPosition}, if it is needed
+     * @return the indices in {@code positions} of the operations that should be canceled
+     * @since 2.1
+     */
+    @NotNull
+    default BitSet cancelNatureBatch(@NotNull OperationWorld world, @NotNull OperationPosition source,
+                                     long @NotNull [] positions, @NotNull LongFunction<OperationPosition> resolver) {
+        final BitSet canceled = new BitSet(positions.length);
+        final int sourceX = (int) Math.floor(source.getX());
+        final int sourceY = (int) Math.floor(source.getY());
+        final int sourceZ = (int) Math.floor(source.getZ());
+        for (int i = 0; i < positions.length; i++) {
+            final long packed = positions[i];
+            if (cancelNature(
+                    world, sourceX, sourceY, sourceZ,
+                    OperationPosition.unpackBlockX(packed),
+                    OperationPosition.unpackBlockY(packed),
+                    OperationPosition.unpackBlockZ(packed),
+                    () -> source, () -> resolver.apply(packed)
+            )) {
+                canceled.set(i);
+            }
+        }
+        return canceled;
+    }
+
+    /**
+     * Returns whether operations without a user may be checked using pooled, reused {@link Operation} instances.
+     * <p>
+     * Handlers that enable this must not retain operations passed to {@link #cancelOperation(Operation)}.
+     *
+     * @return whether operation pooling is enabled; {@code false} by default
+     * @since 2.1
+     */
+    default boolean isOperationPoolingEnabled() {
+        return false;
+    }
+
+    /**
+     * Returns whether this handler may cancel operations of a type
+     * <p>
+     * Listeners may use this to stop listening for events that only raise operations of types this handler never
+     * cancels. Operations of undeclared types may still be passed to the handler.
+     *
+     * @param type the operation type
+     * @return whether operations of the type may be canceled; {@code true} by default
+     * @since 2.1
+     */
+    default boolean handlesOperationType(@NotNull OperationType type) {
+        return true;
+    }
+
+    /**
+     * Returns whether this handler may cancel {@link #cancelMovement(OperationUser, OperationPosition,
+     * OperationPosition) movement}
+     *
+     * @return whether movement may be canceled; {@code true} by default
+     * @since 2.1
+     */
+    default boolean handlesMovement() {
+        return true;
+    }
+
+    /**
+     * Returns whether this handler may cancel {@link #cancelNature(OperationWorld, OperationPosition,
+     * OperationPosition) nature} crossing between positions
+     *
+     * @return whether nature may be canceled; {@code true} by default
+     * @since 2.1
+     */
+    default boolean handlesNature() {
+        return true;
+    }
+
+    /**
+     * Get the index of claimed chunks, if this handler keeps one
+     * <p>
+     * When an index is returned, listeners decide natural operations that only involve unclaimed chunks from the
+     * index's wilderness verdicts, without calling this handler.
+     *
+     * @return the claimed chunk index, or {@code null} if every natural operation should be passed to this handler
+     * @since 2.1
+     */
+    @Nullable
+    default ClaimedChunkIndex getClaimedChunkIndex() {
+        return null;
+    }
+
+    /**
+     * Get the fixed verdicts on operation types across a world, if it has any
+     * <p>
+     * Only natural operations, such as fire, mob spawning and explosions, consult the profile; see
+     * {@link WorldProfile}. Profiles are cached per world by listeners' {@link WorldProfileCache}; refresh it when a
+     * world's profile changes.
+     *
+     * @param world the world
+     * @return the world's profile, or {@code null} if every operation in the world should be passed to this handler
+     * @since 2.1
+     */
+    @Nullable
+    default WorldProfile getWorldProfile(@NotNull OperationWorld world) {
+        return null;
+    }
+
     /**
      * Returns whether a movement should be canceled
      *
@@ -0,0 +1,100 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.handler;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit and miss counters for a cache or fast path used by a {@link Handler}
+ *
+ * @since 2.1
+ */
+@SuppressWarnings("unused")
+public final class HandlerMetrics {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Record a hit
+     *
+     * @since 2.1
+     */
+    public void hit() {
+        hits.increment();
+    }
+
+    /**
+     * Record a miss
+     *
+     * @since 2.1
+     */
+    public void miss() {
+        misses.increment();
+    }
+
+    /**
+     * Get the number of hits recorded since the last {@link #reset()}
+     *
+     * @return the number of hits
+     * @since 2.1
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of misses recorded since the last {@link #reset()}
+     *
+     * @return the number of misses
+     * @since 2.1
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the proportion of lookups that were hits
+     *
+     * @return the hit ratio, from {@code 0} to {@code 1}; {@code 0} if nothing has been recorded
+     * @since 2.1
+     */
+    public double getHitRatio() {
+        final long hits = getHits();
+        final long total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Reset the hit and miss counters
+     *
+     * @since 2.1
+     */
+    public void reset() {
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "HandlerMetrics{hits=" + getHits() + ", misses=" + getMisses() + "}";
+    }
+
+}
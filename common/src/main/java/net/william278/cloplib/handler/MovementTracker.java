@@ -0,0 +1,234 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.handler;
+
+import net.william278.cloplib.operation.OperationChunk;
+import net.william278.cloplib.operation.OperationPosition;
+import net.william278.cloplib.operation.OperationUser;
+import net.william278.cloplib.operation.OperationWorld;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Tracks the chunk and region each player was last allowed into, so a {@link ChunkHandler} is only asked about
+ * movement that crosses into another chunk, and notifies {@link TransitionListener listeners} as players enter and
+ * leave regions
+ * <p>
+ * Players moving within the chunk they were last allowed into, starting and ending in it, are allowed without
+ * building their user or positions.
+ * If the handler keeps a {@link ChunkHandler#getEdgeMask() chunk edge mask}, its owners are used as players' regions;
+ * otherwise, regions aren't tracked. Moving into another chunk is passed to the handler, unless the handler also
+ * enables {@link ChunkHandler#isEdgeMaskMovement()} and the chunk has the same owner. Handlers that aren't chunk
+ * handlers, or that disable the
+ * {@link ChunkHandler#isSameChunkShortCircuit() same-chunk short circuit}, are asked about every move.
+ * <p>
+ * Call {@link #forget(UUID)} when a player leaves, teleports, respawns or changes world, and {@link #invalidateAll()}
+ * when claims change, so players' chunks and regions are resolved again on their next move.
+ *
+ * @since 2.1
+ */
+@SuppressWarnings("unused")
+public final class MovementTracker {
+
+    private final Handler handler;
+    private final HandlerMetrics metrics = new HandlerMetrics();
+    private final Map<UUID, State> players = new ConcurrentHashMap<>();
+    private final List<TransitionListener> listeners = new CopyOnWriteArrayList<>();
+
+    public MovementTracker(@NotNull Handler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Get the tracker's hit and miss counts; hits are moves allowed without calling the handler
+     *
+     * @return the tracker metrics
+     * @since 2.1
+     */
+    @NotNull
+    public HandlerMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Add a listener to notify when a player enters or leaves a region
+     *
+     * @param listener the listener
+     * @since 2.1
+     */
+    public void addTransitionListener(@NotNull TransitionListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a listener added with {@link #addTransitionListener(TransitionListener)}
+     *
+     * @param listener the listener
+     * @since 2.1
+     */
+    public void removeTransitionListener(@NotNull TransitionListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Get the region a player was last allowed into
+     *
+     * @param player the UUID of the player
+     * @return the owner of the player's chunk from the handler's edge mask, or {@code null} if the player is in the
+     * wilderness or isn't tracked
+     * @since 2.1
+     */
+    @Nullable
+    public Object getRegion(@NotNull UUID player) {
+        final State state = players.get(player);
+        return state != null ? state.region : null;
+    }
+
+    /**
+     * Forget a player's tracked chunk and region; call this when the player leaves, teleports, respawns or changes
+     * world
+     *
+     * @param player the UUID of the player
+     * @since 2.1
+     */
+    public void forget(@NotNull UUID player) {
+        players.remove(player);
+    }
+
+    /**
+     * Forget every player's tracked chunk and region; call this when claims change
+     *
+     * @since 2.1
+     */
+    public void invalidateAll() {
+        players.clear();
+    }
+
+    /**
+     * Returns whether a player's movement should be canceled, only calling the handler if the player moves into another
+     * chunk
+     *
+     * @param player the UUID of the player who is moving
+     * @param world  the world the player is moving in
+     * @param fromX  the X coordinate of the block the player is moving from
+     * @param fromZ  the Z coordinate of the block the player is moving from
+     * @param toX    the X coordinate of the block the player is moving to
+     * @param toZ    the Z coordinate of the block the player is moving to
+     * @param user   supplies the user who is moving, if the handler is called
+     * @param from   supplies the position the user is moving from, if the handler is called
+     * @param to     supplies the position the user is moving to, if the handler is called
+     * @return whether the movement should be canceled
+     * @since 2.1
+     */
+    public boolean cancelMovement(@NotNull UUID player, @NotNull OperationWorld world,
+                                  int fromX, int fromZ, int toX, int toZ,
+                                  @NotNull Supplier<OperationUser> user,
+                                  @NotNull Supplier<OperationPosition> from, @NotNull Supplier<OperationPosition> to) {
+        if (!(handler instanceof ChunkHandler chunkHandler) || !chunkHandler.isSameChunkShortCircuit()) {
+            metrics.miss();
+            return handler.cancelMovement(user.get(), from.get(), to.get());
+        }
+
+        // Allow moves from the chunk the player was last allowed into, staying within it or, if opted into, crossing
+        // into a chunk with the same owner
+        final UUID worldUuid = world.getUuid();
+        final long fromChunk = OperationChunk.pack(fromX >> 4, fromZ >> 4);
+        final long chunk = OperationChunk.pack(toX >> 4, toZ >> 4);
+        final State state = players.get(player);
+        final boolean tracked = state != null && state.chunk == fromChunk && state.world.equals(worldUuid);
+        if (tracked && fromChunk == chunk) {
+            metrics.hit();
+            return false;
+        }
+        final ChunkEdgeMask mask = chunkHandler.getEdgeMask();
+        final Object region = mask != null ? mask.getOwner(worldUuid, toX >> 4, toZ >> 4) : null;
+        if (tracked && mask != null && chunkHandler.isEdgeMaskMovement() && Objects.equals(state.region, region)
+                && !mask.isBoundary(worldUuid, fromX >> 4, fromZ >> 4, toX >> 4, toZ >> 4)) {
+            metrics.hit();
+            state.chunk = chunk;
+            return false;
+        }
+        if (state == null && fromChunk == chunk) {
+            metrics.hit();
+            players.put(player, new State(worldUuid, chunk, region));
+            return false;
+        }
+
+        // The player is crossing into another chunk or region, so ask the handler
+        metrics.miss();
+        if (handler.cancelMovement(user.get(), from.get(), to.get())) {
+            return true;
+        }
+        final Object previous = state != null ? state.region : null;
+        players.put(player, new State(worldUuid, chunk, region));
+        if (!Objects.equals(previous, region)) {
+            for (TransitionListener listener : listeners) {
+                listener.onTransition(player, world, previous, region);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Notified when a player moves from one region into another
+     *
+     * @since 2.1
+     */
+    @FunctionalInterface
+    public interface TransitionListener {
+
+        /**
+         * Called after a player's move into another region has been allowed
+         *
+         * @param player  the UUID of the player
+         * @param world   the world the player moved into
+         * @param left    the owner of the region the player left, or {@code null} if they left the wilderness
+         * @param entered the owner of the region the player entered, or {@code null} if they entered the wilderness
+         * @since 2.1
+         */
+        void onTransition(@NotNull UUID player, @NotNull OperationWorld world,
+                          @Nullable Object left, @Nullable Object entered);
+
+    }
+
+    // The chunk and region a player was last allowed into; only updated from the player's own move events
+    private static final class State {
+
+        private final UUID world;
+        private final Object region;
+        private long chunk;
+
+        private State(@NotNull UUID world, long chunk, @Nullable Object region) {
+            this.world = world;
+            this.chunk = chunk;
+            this.region = region;
+        }
+
+    }
+
+}
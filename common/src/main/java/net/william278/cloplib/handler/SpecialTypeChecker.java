@@ -21,6 +21,7 @@ package net.william278.cloplib.handler;
 
 
 import de.exlll.configlib.Configuration;
+import de.exlll.configlib.Ignore;
 import de.exlll.configlib.YamlConfigurationProperties;
 import de.exlll.configlib.YamlConfigurations;
 import lombok.AccessLevel;
@@ -44,29 +45,40 @@ public final class SpecialTypeChecker implements TypeChecker {
     private List<String> pressureSensitiveBlocks = List.of();
     private List<String> griefingMobs = List.of();
 
+    @Ignore
+    private CompiledTypeChecker compiled;
+
     @NotNull
     public static SpecialTypeChecker load(@NotNull InputStream data) throws IllegalArgumentException {
-        return YamlConfigurations.read(data, SpecialTypeChecker.class, CONFIG_PROPERTIES);
+        final SpecialTypeChecker checker = YamlConfigurations.read(data, SpecialTypeChecker.class, CONFIG_PROPERTIES);
+        checker.compiled = checker.compile();
+        return checker;
+    }
+
+    /**
+     * Compile the loaded type lists into a {@link CompiledTypeChecker}
+     *
+     * @return the compiled checker
+     * @since 2.1
+     */
+    @NotNull
+    public CompiledTypeChecker compile() {
+        return CompiledTypeChecker.of(farmBlocks, pressureSensitiveBlocks, griefingMobs);
     }
 
     @Override
     public boolean isFarmMaterial(@NotNull String material) {
-        return farmBlocks.contains(formatKey(material));
+        return compiled.isFarmMaterial(material);
     }
 
     @Override
     public boolean isPressureSensitiveMaterial(@NotNull String material) {
-        return pressureSensitiveBlocks.contains(formatKey(material));
+        return compiled.isPressureSensitiveMaterial(material);
     }
 
     @Override
     public boolean isGriefingMob(@NotNull String mob) {
-        return griefingMobs.contains(formatKey(mob));
-    }
-
-    @NotNull
-    private String formatKey(@NotNull String key) {
-        return key.trim().toLowerCase().replace("minecraft:", "");
+        return compiled.isGriefingMob(mob);
     }
 
 }
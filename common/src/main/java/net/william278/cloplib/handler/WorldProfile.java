@@ -0,0 +1,141 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.handler;
+
+import net.william278.cloplib.operation.OperationType;
+import net.william278.cloplib.operation.OperationTypeSet;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A fixed verdict on operation types across a whole world, such as a resource world where breaking blocks is always
+ * allowed, or a minigame map where fire never spreads
+ * <p>
+ * A handler returns each world's profile from {@link Handler#getWorldProfile}. Only natural operations consult it:
+ * {@link OperationType#FIRE_SPREAD}, {@link OperationType#FIRE_BURN}, {@link OperationType#MONSTER_SPAWN},
+ * {@link OperationType#PASSIVE_MOB_SPAWN}, {@link OperationType#EXPLOSION_DAMAGE_TERRAIN} and
+ * {@link OperationType#MONSTER_DAMAGE_TERRAIN}. Where one of these has a fixed verdict, it is allowed or denied without
+ * building positions or calling the handler; otherwise it is {@link Verdict#ASK asked} of the handler as usual.
+ * <p>
+ * Operations performed by users, and fluids or pistons crossing claim borders, don't consult the profile and are always
+ * passed to the handler, so listing their types here has no effect.
+ *
+ * @since 2.1
+ */
+@SuppressWarnings("unused")
+public final class WorldProfile {
+
+    /**
+     * A profile with no fixed verdicts, asking the handler about every operation type
+     *
+     * @since 2.1
+     */
+    public static final WorldProfile ASK_ALL = new WorldProfile(new OperationTypeSet(), new OperationTypeSet());
+
+    private final OperationTypeSet allowed;
+    private final OperationTypeSet denied;
+
+    private WorldProfile(@NotNull OperationTypeSet allowed, @NotNull OperationTypeSet denied) {
+        this.allowed = allowed;
+        this.denied = denied;
+    }
+
+    /**
+     * Create a profile for a world
+     *
+     * @param allowed the operation types that are always allowed in the world
+     * @param denied  the operation types that are always denied in the world
+     * @return the profile
+     * @throws IllegalArgumentException if a type is both allowed and denied
+     * @since 2.1
+     */
+    @NotNull
+    public static WorldProfile of(@NotNull Collection<OperationType> allowed,
+                                  @NotNull Collection<OperationType> denied) {
+        final OperationTypeSet allowedSet = new OperationTypeSet(allowed);
+        final OperationTypeSet deniedSet = new OperationTypeSet(denied);
+        if (allowedSet.containsAny(deniedSet)) {
+            throw new IllegalArgumentException("Operation types cannot be both allowed and denied");
+        }
+        return new WorldProfile(allowedSet, deniedSet);
+    }
+
+    /**
+     * Create a profile for a world in which operation types are always allowed
+     *
+     * @param allowed the operation types that are always allowed in the world
+     * @return the profile
+     * @since 2.1
+     */
+    @NotNull
+    public static WorldProfile allowing(@NotNull OperationType... allowed) {
+        return of(List.of(allowed), List.of());
+    }
+
+    /**
+     * Create a profile for a world in which operation types are always denied
+     *
+     * @param denied the operation types that are always denied in the world
+     * @return the profile
+     * @since 2.1
+     */
+    @NotNull
+    public static WorldProfile denying(@NotNull OperationType... denied) {
+        return of(List.of(), List.of(denied));
+    }
+
+    /**
+     * Get the verdict on an operation type in the world
+     *
+     * @param type the operation type
+     * @return the verdict
+     * @since 2.1
+     */
+    @NotNull
+    public Verdict getVerdict(@NotNull OperationType type) {
+        if (allowed.contains(type)) {
+            return Verdict.ALLOW;
+        }
+        return denied.contains(type) ? Verdict.DENY : Verdict.ASK;
+    }
+
+    /**
+     * A world's verdict on an operation type
+     *
+     * @since 2.1
+     */
+    public enum Verdict {
+        /**
+         * Operations of the type are always allowed
+         */
+        ALLOW,
+        /**
+         * Operations of the type are always denied
+         */
+        DENY,
+        /**
+         * Operations of the type are passed to the handler
+         */
+        ASK
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.handler;
+
+import net.william278.cloplib.operation.OperationType;
+import net.william278.cloplib.operation.OperationWorld;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the {@link WorldProfile} of each world, fetching it from the {@link Handler} the first time the world is
+ * checked
+ * <p>
+ * Call {@link #refresh(UUID)} when a world's profile changes, or {@link #refreshAll()} after reloading
+ * configuration, and the profile is fetched from the handler again on its next check.
+ *
+ * @since 2.1
+ */
+@SuppressWarnings("unused")
+public final class WorldProfileCache {
+
+    private final Handler handler;
+    private final Map<UUID, WorldProfile> profiles = new ConcurrentHashMap<>();
+
+    public WorldProfileCache(@NotNull Handler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Get the profile of a world, fetching it from the handler if it isn't cached
+     *
+     * @param world the world
+     * @return the world's profile; {@link WorldProfile#ASK_ALL} if the handler doesn't give one
+     * @since 2.1
+     */
+    @NotNull
+    public WorldProfile get(@NotNull OperationWorld world) {
+        final WorldProfile profile = profiles.get(world.getUuid());
+        if (profile != null) {
+            return profile;
+        }
+        return profiles.computeIfAbsent(world.getUuid(),
+                (uuid) -> Objects.requireNonNullElse(handler.getWorldProfile(world), WorldProfile.ASK_ALL));
+    }
+
+    /**
+     * Get a world's verdict on an operation type
+     *
+     * @param world the world
+     * @param type  the operation type
+     * @return the verdict
+     * @since 2.1
+     */
+    @NotNull
+    public WorldProfile.Verdict getVerdict(@NotNull OperationWorld world, @NotNull OperationType type) {
+        return get(world).getVerdict(type);
+    }
+
+    /**
+     * Forget a world's cached profile, so it is fetched again on the world's next check
+     *
+     * @param world the UUID of the world
+     * @since 2.1
+     */
+    public void refresh(@NotNull UUID world) {
+        profiles.remove(world);
+    }
+
+    /**
+     * Forget every cached profile, so each is fetched again on its world's next check
+     *
+     * @since 2.1
+     */
+    public void refreshAll() {
+        profiles.clear();
+    }
+
+}
@@ -20,7 +20,9 @@
 package net.william278.cloplib.listener;
 
 import net.william278.cloplib.handler.Handler;
+import net.william278.cloplib.handler.MovementTracker;
 import net.william278.cloplib.handler.TypeChecker;
+import net.william278.cloplib.handler.WorldProfileCache;
 import net.william278.cloplib.operation.Operation;
 import net.william278.cloplib.operation.OperationTypeRegistry;
 import org.jetbrains.annotations.NotNull;
@@ -54,4 +56,24 @@ public interface OperationListener extends InspectorCallbackProvider, OperationT
     @NotNull
     TypeChecker getChecker();
 
+    /**
+     * Get the cache of the {@link Handler}'s {@link net.william278.cloplib.handler.WorldProfile world profiles},
+     * to refresh when they change
+     *
+     * @return the world profile cache
+     * @since 2.1
+     */
+    @NotNull
+    WorldProfileCache getWorldProfiles();
+
+    /**
+     * Get the tracker of the chunk and region each player was last allowed into, to invalidate when claims change,
+     * or to listen for players entering and leaving regions
+     *
+     * @return the movement tracker
+     * @since 2.1
+     */
+    @NotNull
+    MovementTracker getMovementTracker();
+
 }
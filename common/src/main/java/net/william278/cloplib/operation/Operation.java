@@ -26,6 +26,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Represents a type of {@link OperationType type} of server event that is taking place at an {@link OperationPosition}
@@ -37,13 +38,28 @@ import java.util.Optional;
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class Operation {
 
-    private final OperationType type;
-    private final OperationPosition position;
+    private static final ThreadLocal<Operation> POOL = ThreadLocal.withInitial(Operation::new);
+
+    private OperationType type;
+    private OperationPosition position;
     @Nullable
-    private final OperationUser user;
+    private OperationUser user;
     @Nullable
-    private final OperationUser victim;
+    private OperationUser victim;
     private boolean silent;
+    private boolean pooled;
+    private boolean acquired;
+    @Nullable
+    private Supplier<OperationPosition> positionSupplier;
+    @Nullable
+    private Supplier<OperationUser> userSupplier;
+    @Nullable
+    private Supplier<OperationUser> victimSupplier;
+
+    @ApiStatus.Internal
+    private Operation() {
+        this.pooled = true;
+    }
 
     @ApiStatus.Internal
     private Operation(@Nullable OperationUser user, @Nullable OperationUser victim,
@@ -144,6 +160,137 @@ public class Operation {
         return operation;
     }
 
+    /**
+     * Create a new {@code Operation} whose {@link OperationUser user} and {@link OperationPosition position} are
+     * only resolved when first requested by a handler, then remembered
+     * <p>
+     * Lazily-resolved operations should be checked on the thread that created them.
+     *
+     * @param user     supplies the user who performed the operation, or {@code null}
+     * @param type     the type of operation
+     * @param position supplies the OperationPosition of the operation; where it took place
+     * @return the new {@code Operation}
+     * @since 2.1
+     */
+    @NotNull
+    public static Operation lazy(@NotNull Supplier<@Nullable OperationUser> user, @NotNull OperationType type,
+                                 @NotNull Supplier<@NotNull OperationPosition> position) {
+        return lazy(user, null, type, position);
+    }
+
+    /**
+     * Create a new {@code Operation} whose {@link OperationUser user} and {@link OperationPosition position} are
+     * only resolved when first requested by a handler, then remembered
+     *
+     * @param user     supplies the user who performed the operation, or {@code null}
+     * @param type     the type of operation
+     * @param position supplies the OperationPosition of the operation; where it took place
+     * @param silent   whether the operation should be silent; not displayed to the user if it is canceled
+     * @return the new {@code Operation}
+     * @since 2.1
+     */
+    @NotNull
+    public static Operation lazy(@NotNull Supplier<@Nullable OperationUser> user, @NotNull OperationType type,
+                                 @NotNull Supplier<@NotNull OperationPosition> position, boolean silent) {
+        final Operation operation = lazy(user, type, position);
+        operation.setSilent(silent);
+        return operation;
+    }
+
+    /**
+     * Create a new {@code Operation} whose {@link OperationUser user}, {@link OperationUser victim} and
+     * {@link OperationPosition position} are only resolved when first requested by a handler, then remembered
+     *
+     * @param user     supplies the user who performed the operation, or {@code null}
+     * @param victim   supplies the user who was affected by the operation, or {@code null}
+     * @param type     the type of operation
+     * @param position supplies the OperationPosition of the operation; where it took place
+     * @return the new {@code Operation}
+     * @since 2.1
+     */
+    @NotNull
+    public static Operation lazy(@NotNull Supplier<@Nullable OperationUser> user,
+                                 @Nullable Supplier<@Nullable OperationUser> victim,
+                                 @NotNull OperationType type, @NotNull Supplier<@NotNull OperationPosition> position) {
+        final Operation operation = new Operation(null, null, type, null);
+        operation.userSupplier = user;
+        operation.victimSupplier = victim;
+        operation.positionSupplier = position;
+        return operation;
+    }
+
+    /**
+     * Borrow this thread's pooled {@code Operation}, reset to the given {@link OperationType} and
+     * {@link OperationPosition}. Each thread owns a single pooled instance; if it is already borrowed (e.g. a handler
+     * checking another operation while handling this one), a fresh {@code Operation} is returned instead.
+     * <p>
+     * The returned operation must be handed back with {@link #release()} once the check is complete, and must not be
+     * retained or shared with another thread in the meantime; use {@link #copy()} to keep hold of it.
+     *
+     * @param type     the type of operation
+     * @param position the OperationPosition of the operation; where it took place
+     * @param silent   whether the operation should be silent; not displayed to the user if it is canceled
+     * @return the pooled {@code Operation}, or a fresh one if the pooled instance is in use
+     * @since 2.1
+     */
+    @NotNull
+    @ApiStatus.Internal
+    public static Operation acquire(@NotNull OperationType type, @NotNull OperationPosition position, boolean silent) {
+        final Operation operation = POOL.get();
+        if (operation.acquired) {
+            return of(type, position, silent);
+        }
+        operation.acquired = true;
+        operation.type = type;
+        operation.position = position;
+        operation.silent = silent;
+        return operation;
+    }
+
+    /**
+     * Hand this operation back to its thread's pool, if it was {@link #acquire(OperationType, OperationPosition,
+     * boolean) acquired} from one. Does nothing for operations created through {@code of(...)}.
+     *
+     * @since 2.1
+     */
+    @ApiStatus.Internal
+    public void release() {
+        if (!pooled) {
+            return;
+        }
+        this.type = null;
+        this.position = null;
+        this.user = null;
+        this.victim = null;
+        this.positionSupplier = null;
+        this.userSupplier = null;
+        this.victimSupplier = null;
+        this.silent = false;
+        this.acquired = false;
+    }
+
+    /**
+     * Get whether this operation is a pooled instance, which is reused once the check it was created for is complete
+     *
+     * @return {@code true} if this operation is pooled and must not be retained; {@code false} otherwise
+     * @since 2.1
+     */
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    /**
+     * Create a new, non-pooled copy of this operation that is safe to retain
+     *
+     * @return a copy of this operation
+     * @since 2.1
+     */
+    @NotNull
+    public Operation copy() {
+        return new Operation(type, getOperationPosition(), getUser().orElse(null), getVictim().orElse(null),
+                silent, false, false, null, null, null);
+    }
+
     /**
      * Set whether the operation should be silent; not displayed to the user if it is canceled
      *
@@ -183,6 +330,10 @@ public class Operation {
      */
     @NotNull
     public OperationPosition getOperationPosition() {
+        if (positionSupplier != null) {
+            position = positionSupplier.get();
+            positionSupplier = null;
+        }
         return position;
     }
 
@@ -193,6 +344,10 @@ public class Operation {
      * @since 1.0
      */
     public Optional<OperationUser> getUser() {
+        if (userSupplier != null) {
+            user = userSupplier.get();
+            userSupplier = null;
+        }
         return Optional.ofNullable(user);
     }
 
@@ -203,6 +358,10 @@ public class Operation {
      * @since 1.0
      */
     public Optional<OperationUser> getVictim() {
+        if (victimSupplier != null) {
+            victim = victimSupplier.get();
+            victimSupplier = null;
+        }
         return Optional.ofNullable(victim);
     }
 
@@ -70,4 +70,73 @@ public interface OperationChunk {
                 && position.getZ() >= getZ() * 16 && position.getZ() < (getZ() + 1) * 16;
     }
 
+    /**
+     * Get this chunk's coordinates {@link #pack(int, int) packed} into a single {@code long}
+     *
+     * @return the packed chunk coordinates
+     * @since 2.1
+     */
+    default long asPacked() {
+        return pack(getX(), getZ());
+    }
+
+    /**
+     * Pack chunk coordinates into a single {@code long}, using the same layout as Minecraft's {@code ChunkPos#toLong}
+     *
+     * @param x the chunk X coordinate
+     * @param z the chunk Z coordinate
+     * @return the packed chunk coordinates
+     * @since 2.1
+     */
+    static long pack(int x, int z) {
+        return (x & 0xFFFFFFFFL) | ((z & 0xFFFFFFFFL) << 32);
+    }
+
+    /**
+     * Get the chunk X coordinate of {@link #pack(int, int) packed} chunk coordinates
+     *
+     * @param packed the packed chunk coordinates
+     * @return the chunk X coordinate
+     * @since 2.1
+     */
+    static int unpackX(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * Get the chunk Z coordinate of {@link #pack(int, int) packed} chunk coordinates
+     *
+     * @param packed the packed chunk coordinates
+     * @return the chunk Z coordinate
+     * @since 2.1
+     */
+    static int unpackZ(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    /**
+     * Get an {@code OperationChunk} at the given coordinates
+     *
+     * @param x the chunk X coordinate
+     * @param z the chunk Z coordinate
+     * @return the chunk
+     * @since 2.1
+     */
+    @NotNull
+    static OperationChunk of(int x, int z) {
+        return new PackedOperationChunk(pack(x, z));
+    }
+
+    /**
+     * Get an {@code OperationChunk} from {@link #pack(int, int) packed} chunk coordinates
+     *
+     * @param packed the packed chunk coordinates
+     * @return the chunk
+     * @since 2.1
+     */
+    @NotNull
+    static OperationChunk ofPacked(long packed) {
+        return new PackedOperationChunk(packed);
+    }
+
 }
@@ -0,0 +1,221 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.operation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Remembers what has been resolved while handling a single platform event, so that each check made for the event
+ * shares one {@link OperationUser}, one {@link OperationPosition} per location and one of each other value looked up
+ * through a {@link Key}, such as the type of block involved, rather than resolving its own.
+ * <p>
+ * A context lives for the handling of one event, and is not thread-safe.
+ *
+ * @since 2.1
+ */
+public final class OperationContext {
+
+    // Events rarely involve more than a couple of locations; any beyond this are resolved without being remembered
+    private static final int MAX_POSITIONS = 4;
+    // Likewise for other values; a listener only looks up a few per event
+    private static final int MAX_VALUES = 4;
+
+    @Nullable
+    private Supplier<@Nullable OperationUser> userSupplier;
+    @Nullable
+    private OperationUser user;
+    private final Object[] positionSources = new Object[MAX_POSITIONS];
+    private final OperationPosition[] positions = new OperationPosition[MAX_POSITIONS];
+    private int positionCount;
+    private final Key<?>[] valueKeys = new Key<?>[MAX_VALUES];
+    private final Object[] values = new Object[MAX_VALUES];
+    private int valueCount;
+
+    private OperationContext(@Nullable Supplier<@Nullable OperationUser> user) {
+        this.userSupplier = user;
+    }
+
+    /**
+     * Create a context for an event performed by a user, who is resolved when first needed
+     *
+     * @param user supplies the user performing the event
+     * @return the new context
+     * @since 2.1
+     */
+    @NotNull
+    public static OperationContext of(@NotNull Supplier<@Nullable OperationUser> user) {
+        return new OperationContext(user);
+    }
+
+    /**
+     * Create a context for an event with no user, such as a naturally occurring event
+     *
+     * @return the new context
+     * @since 2.1
+     */
+    @NotNull
+    public static OperationContext natural() {
+        return new OperationContext(null);
+    }
+
+    /**
+     * Get the user performing the event, if any, resolving them on the first call
+     *
+     * @return the user, wrapped in an {@link Optional}
+     * @since 2.1
+     */
+    public Optional<OperationUser> getUser() {
+        return Optional.ofNullable(resolveUser());
+    }
+
+    /**
+     * Get the position of a platform location, resolving it on the first call for an equal location
+     *
+     * @param source   the platform location, such as a block position
+     * @param resolver resolves the OperationPosition of the location
+     * @param <S>      the type of platform location
+     * @return the position
+     * @since 2.1
+     */
+    @NotNull
+    public <S> OperationPosition getPosition(@NotNull S source,
+                                             @NotNull Function<? super S, @NotNull OperationPosition> resolver) {
+        for (int i = 0; i < positionCount; i++) {
+            if (positionSources[i].equals(source)) {
+                return positions[i];
+            }
+        }
+        final OperationPosition position = resolver.apply(source);
+        if (positionCount < MAX_POSITIONS) {
+            positionSources[positionCount] = source;
+            positions[positionCount++] = position;
+        }
+        return position;
+    }
+
+    /**
+     * Get a value looked up while handling the event, resolving it on the first call with the same key
+     *
+     * @param key      the key identifying the value
+     * @param resolver resolves the value
+     * @param <T>      the type of value
+     * @return the value
+     * @since 2.1
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NotNull Key<T> key, @NotNull Supplier<T> resolver) {
+        for (int i = 0; i < valueCount; i++) {
+            if (valueKeys[i] == key) {
+                return (T) values[i];
+            }
+        }
+        final T value = resolver.get();
+        if (valueCount < MAX_VALUES) {
+            valueKeys[valueCount] = key;
+            values[valueCount++] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Create an {@link Operation} by this context's user at a platform location, both resolved through this context
+     * when a handler first needs them
+     *
+     * @param type     the type of operation
+     * @param source   the platform location the operation takes place at
+     * @param resolver resolves the OperationPosition of the location
+     * @param <S>      the type of platform location
+     * @return the operation
+     * @since 2.1
+     */
+    @NotNull
+    public <S> Operation operation(@NotNull OperationType type, @NotNull S source,
+                                   @NotNull Function<? super S, @NotNull OperationPosition> resolver) {
+        return Operation.lazy(this::resolveUser, type, () -> getPosition(source, resolver));
+    }
+
+    /**
+     * Create an {@link Operation} by this context's user at a platform location, both resolved through this context
+     * when a handler first needs them
+     *
+     * @param type     the type of operation
+     * @param source   the platform location the operation takes place at
+     * @param resolver resolves the OperationPosition of the location
+     * @param silent   whether the operation should be silent; not displayed to the user if it is canceled
+     * @param <S>      the type of platform location
+     * @return the operation
+     * @since 2.1
+     */
+    @NotNull
+    public <S> Operation operation(@NotNull OperationType type, @NotNull S source,
+                                   @NotNull Function<? super S, @NotNull OperationPosition> resolver, boolean silent) {
+        return Operation.lazy(this::resolveUser, type, () -> getPosition(source, resolver), silent);
+    }
+
+    @Nullable
+    private OperationUser resolveUser() {
+        if (userSupplier != null) {
+            user = userSupplier.get();
+            userSupplier = null;
+        }
+        return user;
+    }
+
+    /**
+     * Identifies a value remembered by an {@link OperationContext}. Keys are compared by identity, so should be held
+     * in constants
+     *
+     * @param <T> the type of value
+     * @since 2.1
+     */
+    public static final class Key<T> {
+
+        private final String name;
+
+        private Key(@NotNull String name) {
+            this.name = name;
+        }
+
+        /**
+         * Create a key for a value
+         *
+         * @param name the name of the value, for debugging
+         * @param <T>  the type of value
+         * @return the new key
+         * @since 2.1
+         */
+        @NotNull
+        public static <T> Key<T> of(@NotNull String name) {
+            return new Key<>(name);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+    }
+
+}
@@ -31,6 +31,14 @@ import org.jetbrains.annotations.NotNull;
 @SuppressWarnings("unused")
 public interface OperationPosition {
 
+    // Bit layout of packed block positions, matching Minecraft's own BlockPos#asLong
+    int PACKED_HORIZONTAL_BITS = 26;
+    int PACKED_Y_BITS = 12;
+    long PACKED_HORIZONTAL_MASK = (1L << PACKED_HORIZONTAL_BITS) - 1;
+    long PACKED_Y_MASK = (1L << PACKED_Y_BITS) - 1;
+    int PACKED_Z_SHIFT = PACKED_Y_BITS;
+    int PACKED_X_SHIFT = PACKED_Y_BITS + PACKED_HORIZONTAL_BITS;
+
     /**
      * Get the X coordinate of the position
      *
@@ -108,4 +116,75 @@ public interface OperationPosition {
         );
     }
 
+    /**
+     * Get the coordinates of the block this position is in, {@link #packBlock(int, int, int) packed} into a
+     * single {@code long}
+     *
+     * @return the packed block position
+     * @since 2.1
+     */
+    default long asPackedBlock() {
+        return packBlock((int) Math.floor(getX()), (int) Math.floor(getY()), (int) Math.floor(getZ()));
+    }
+
+    /**
+     * Pack block coordinates into a single {@code long}, using the same layout as Minecraft's {@code BlockPos#asLong}
+     *
+     * @param x the block X coordinate
+     * @param y the block Y coordinate
+     * @param z the block Z coordinate
+     * @return the packed block position
+     * @since 2.1
+     */
+    static long packBlock(int x, int y, int z) {
+        return ((x & PACKED_HORIZONTAL_MASK) << PACKED_X_SHIFT)
+                | ((z & PACKED_HORIZONTAL_MASK) << PACKED_Z_SHIFT)
+                | (y & PACKED_Y_MASK);
+    }
+
+    /**
+     * Get the block X coordinate of a {@link #packBlock(int, int, int) packed block position}
+     *
+     * @param packed the packed block position
+     * @return the block X coordinate
+     * @since 2.1
+     */
+    static int unpackBlockX(long packed) {
+        return (int) (packed >> PACKED_X_SHIFT);
+    }
+
+    /**
+     * Get the block Y coordinate of a {@link #packBlock(int, int, int) packed block position}
+     *
+     * @param packed the packed block position
+     * @return the block Y coordinate
+     * @since 2.1
+     */
+    static int unpackBlockY(long packed) {
+        return (int) (packed << (Long.SIZE - PACKED_Y_BITS) >> (Long.SIZE - PACKED_Y_BITS));
+    }
+
+    /**
+     * Get the block Z coordinate of a {@link #packBlock(int, int, int) packed block position}
+     *
+     * @param packed the packed block position
+     * @return the block Z coordinate
+     * @since 2.1
+     */
+    static int unpackBlockZ(long packed) {
+        return (int) (packed << (Long.SIZE - PACKED_X_SHIFT) >> (Long.SIZE - PACKED_HORIZONTAL_BITS));
+    }
+
+    /**
+     * Get the {@link OperationChunk#pack(int, int) packed} coordinates of the chunk containing a
+     * {@link #packBlock(int, int, int) packed block position}
+     *
+     * @param packed the packed block position
+     * @return the packed chunk coordinates
+     * @since 2.1
+     */
+    static long packedBlockToChunk(long packed) {
+        return OperationChunk.pack(unpackBlockX(packed) >> 4, unpackBlockZ(packed) >> 4);
+    }
+
 }
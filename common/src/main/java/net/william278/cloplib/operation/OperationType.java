@@ -29,6 +29,7 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static net.kyori.adventure.key.Key.DEFAULT_SEPARATOR;
 
@@ -43,8 +44,13 @@ public final class OperationType {
     // Namespace for built in operation types
     private static final @KeyPattern.Namespace String DEFAULT_NAMESPACE = "cloplib";
 
-    // The operation type registry map
-    private static final Map<String, OperationType> REGISTRY = new HashMap<>();
+    // The operation type registry; an immutable snapshot, replaced (copy-on-write) while holding the lock
+    private static final Object REGISTRY_LOCK = new Object();
+    private static volatile Registry REGISTRY = Registry.EMPTY;
+
+    // Dense ids, assigned once per minimal key string, and the first type created with each id (copy-on-write)
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static volatile OperationType[] TYPES_BY_ID = new OperationType[0];
 
     /**
      * When a player places a block
@@ -274,11 +280,16 @@ public final class OperationType {
     @Getter
     private final Key key;
     private final int ordinal;
+    private final int id;
+    private final int hashCode;
 
     private OperationType(@NotNull Key key, boolean silent) {
         this.silent = silent;
         this.key = key;
-        this.ordinal = REGISTRY.size();
+        this.ordinal = REGISTRY.byKey().size();
+        final String minimalString = asMinimalString();
+        this.id = assignId(minimalString, this);
+        this.hashCode = minimalString.hashCode();
     }
 
     /**
@@ -290,11 +301,12 @@ public final class OperationType {
      */
     @NotNull
     public static OperationType register(@NotNull OperationType type) {
-        assert REGISTRY != null : "Registry was null";
-        if (isRegistered(type.getKey())) {
-            throw new IllegalArgumentException("Operation type already registered: %s".formatted(type.getKey()));
+        synchronized (REGISTRY_LOCK) {
+            if (isRegistered(type.getKey())) {
+                throw new IllegalArgumentException("Operation type already registered: %s".formatted(type.getKey()));
+            }
+            REGISTRY = REGISTRY.with(type);
         }
-        REGISTRY.put(type.getKey().asString(), type);
         return type;
     }
 
@@ -308,11 +320,14 @@ public final class OperationType {
     @NotNull
     @SuppressWarnings("UnusedReturnValue")
     public static OperationType unregister(@NotNull Key key) {
-        assert REGISTRY != null : "Registry was null";
-        if (!isRegistered(key)) {
-            throw new IllegalArgumentException("Operation type not registered: %s".formatted(key));
+        synchronized (REGISTRY_LOCK) {
+            final OperationType type = REGISTRY.byKey().get(key.asString());
+            if (type == null) {
+                throw new IllegalArgumentException("Operation type not registered: %s".formatted(key));
+            }
+            REGISTRY = REGISTRY.without(type);
+            return type;
         }
-        return REGISTRY.remove(key.asString());
     }
 
     /**
@@ -337,7 +352,7 @@ public final class OperationType {
      * @since 2.0
      */
     public static Optional<OperationType> get(@NotNull Key key) {
-        return Optional.ofNullable(REGISTRY.get(key.asString()));
+        return Optional.ofNullable(REGISTRY.byKey().get(key.asString()));
     }
 
     /**
@@ -348,7 +363,48 @@ public final class OperationType {
      * @since 2.0
      */
     public static Optional<OperationType> get(@NotNull String key) {
-        return Optional.ofNullable(REGISTRY.get(formatKeyString(key)));
+        return Optional.ofNullable(lookup(key));
+    }
+
+    /**
+     * Get a registered operation type from its {@link #getId() id}
+     *
+     * @param id the id of the operation type
+     * @return the operation type, or an empty optional if no type with that id is registered
+     * @since 2.1
+     */
+    public static Optional<OperationType> get(int id) {
+        final OperationType[] registered = REGISTRY.byId();
+        return Optional.ofNullable(id >= 0 && id < registered.length ? registered[id] : null);
+    }
+
+    /**
+     * Get the number of ids assigned to operation types so far; all ids are less than this
+     *
+     * @return the number of assigned ids
+     * @since 2.1
+     */
+    public static int getIdCount() {
+        return TYPES_BY_ID.length;
+    }
+
+    // Get the operation type with an id, registered or not, for id-indexed collections
+    @Nullable
+    static OperationType byId(int id) {
+        final OperationType[] types = TYPES_BY_ID;
+        return id >= 0 && id < types.length ? types[id] : null;
+    }
+
+    // Look up a registered type, trying the key string as given before normalizing it
+    @Nullable
+    private static OperationType lookup(@NotNull String key) {
+        final Registry registry = REGISTRY;
+        final OperationType type = registry.byAlias().get(key);
+        if (type != null) {
+            return type;
+        }
+        final OperationType direct = registry.byKey().get(key);
+        return direct != null ? direct : registry.byKey().get(formatKeyString(key));
     }
 
     /**
@@ -361,7 +417,8 @@ public final class OperationType {
     @NotNull
     public static OperationType getOrCreate(@Nullable String key) {
         @Subst("ignored") final String keyString = formatKeyString(key);
-        return REGISTRY.getOrDefault(keyString, create(Key.key(keyString), false));
+        final OperationType type = REGISTRY.byKey().get(keyString);
+        return type != null ? type : create(Key.key(keyString), false);
     }
 
     /**
@@ -372,7 +429,7 @@ public final class OperationType {
      * @since 2.0
      */
     public static boolean isRegistered(@NotNull Key key) {
-        return REGISTRY.containsKey(key.asString());
+        return REGISTRY.byKey().containsKey(key.asString());
     }
 
     /**
@@ -383,11 +440,13 @@ public final class OperationType {
      * @since 2.0
      */
     public static boolean isRegistered(@NotNull String key) {
-        return REGISTRY.containsKey(formatKeyString(key));
+        return lookup(key) != null;
     }
 
     /**
      * Get the set of registered {@link OperationType}s
+     * <p>
+     * The returned collection is an immutable snapshot; types registered or unregistered later aren't reflected in it.
      *
      * @return the set of {@link OperationType}s
      * @since 2.0
@@ -454,6 +513,28 @@ public final class OperationType {
         return keyString;
     }
 
+    // Assign the dense id for a minimal key string, reusing it if it was assigned before
+    private static int assignId(@NotNull String minimalString, @NotNull OperationType type) {
+        final Integer existing = IDS.get(minimalString);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (REGISTRY_LOCK) {
+            final Integer assigned = IDS.get(minimalString);
+            if (assigned != null) {
+                return assigned;
+            }
+
+            // Publish the type before its id, so any id handed out can be resolved
+            final int id = TYPES_BY_ID.length;
+            final OperationType[] types = Arrays.copyOf(TYPES_BY_ID, id + 1);
+            types[id] = type;
+            TYPES_BY_ID = types;
+            IDS.put(minimalString, id);
+            return id;
+        }
+    }
+
     // Register a built-in operation type
     @NotNull
     private static OperationType registerBuiltin(@NotNull @KeyPattern.Value String name, boolean silent) {
@@ -504,7 +585,7 @@ public final class OperationType {
     @Override
     public boolean equals(Object obj) {
         if (obj instanceof OperationType other) {
-            return asMinimalString().equals(other.asMinimalString());
+            return id == other.id;
         }
         return false;
     }
@@ -517,7 +598,21 @@ public final class OperationType {
      */
     @Override
     public int hashCode() {
-        return asMinimalString().hashCode();
+        return hashCode;
+    }
+
+    /**
+     * Get the id of this OperationType.
+     * <p>
+     * Ids are small, dense and stable for the lifetime of the server: every operation type with the same key shares
+     * an id, whether registered or not. Use them to index arrays, or with {@link OperationTypeSet} and
+     * {@link OperationTypeMap}. Ids are assigned in creation order, so don't persist them.
+     *
+     * @return the operation type id
+     * @since 2.1
+     */
+    public int getId() {
+        return id;
     }
 
     /**
@@ -545,4 +640,34 @@ public final class OperationType {
         return ordinal;
     }
 
+    // An immutable snapshot of the registered operation types
+    private record Registry(@NotNull Map<String, OperationType> byKey, @NotNull Map<String, OperationType> byAlias,
+                            @NotNull OperationType[] byId, @NotNull Collection<OperationType> values) {
+
+        private static final Registry EMPTY = new Registry(Map.of(), Map.of(), new OperationType[0], List.of());
+
+        @NotNull
+        private Registry with(@NotNull OperationType type) {
+            final Map<String, OperationType> keys = new HashMap<>(byKey);
+            keys.put(type.getKey().asString(), type);
+            final Map<String, OperationType> aliases = new HashMap<>(byAlias);
+            aliases.put(type.asMinimalString(), type);
+            final OperationType[] ids = Arrays.copyOf(byId, Math.max(byId.length, type.id + 1));
+            ids[type.id] = type;
+            return new Registry(keys, aliases, ids, List.copyOf(keys.values()));
+        }
+
+        @NotNull
+        private Registry without(@NotNull OperationType type) {
+            final Map<String, OperationType> keys = new HashMap<>(byKey);
+            keys.remove(type.getKey().asString());
+            final Map<String, OperationType> aliases = new HashMap<>(byAlias);
+            aliases.remove(type.asMinimalString());
+            final OperationType[] ids = byId.clone();
+            ids[type.id] = null;
+            return new Registry(keys, aliases, ids, List.copyOf(keys.values()));
+        }
+
+    }
+
 }
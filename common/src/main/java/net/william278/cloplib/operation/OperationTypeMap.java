@@ -0,0 +1,184 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.operation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * A map from {@link OperationType}s to values, backed by an array indexed by their {@link OperationType#getId() ids}.
+ * <p>
+ * Lookups are a single array access, with no hashing. Null values are not permitted. This map is not thread-safe.
+ *
+ * @param <V> the type of value
+ * @since 2.1
+ */
+@SuppressWarnings("unused")
+public final class OperationTypeMap<V> {
+
+    private Object[] values;
+    private int size;
+
+    public OperationTypeMap() {
+        this.values = new Object[Math.max(OperationType.getIdCount(), 1)];
+    }
+
+    /**
+     * Get the value mapped to an operation type
+     *
+     * @param type the operation type
+     * @return the value, or {@code null} if there is none
+     * @since 2.1
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V get(@NotNull OperationType type) {
+        final int id = type.getId();
+        return id < values.length ? (V) values[id] : null;
+    }
+
+    /**
+     * Get the value mapped to an operation type, or a default if there is none
+     *
+     * @param type         the operation type
+     * @param defaultValue the value to return if the type isn't mapped
+     * @return the value, or {@code defaultValue} if there is none
+     * @since 2.1
+     */
+    public V getOrDefault(@NotNull OperationType type, V defaultValue) {
+        final V value = get(type);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Returns whether an operation type is mapped to a value
+     *
+     * @param type the operation type
+     * @return whether the type is mapped
+     * @since 2.1
+     */
+    public boolean containsKey(@NotNull OperationType type) {
+        return get(type) != null;
+    }
+
+    /**
+     * Map an operation type to a value, replacing any existing value
+     *
+     * @param type  the operation type
+     * @param value the value
+     * @return the previous value, or {@code null} if there was none
+     * @since 2.1
+     */
+    @Nullable
+    public V put(@NotNull OperationType type, @NotNull V value) {
+        if (value == null) {
+            throw new NullPointerException("Null values are not permitted");
+        }
+        final int id = type.getId();
+        if (id >= values.length) {
+            values = Arrays.copyOf(values, Math.max(id + 1, values.length * 2));
+        }
+        final V previous = get(type);
+        values[id] = value;
+        if (previous == null) {
+            size++;
+        }
+        return previous;
+    }
+
+    /**
+     * Remove an operation type's mapping
+     *
+     * @param type the operation type
+     * @return the removed value, or {@code null} if there was none
+     * @since 2.1
+     */
+    @Nullable
+    public V remove(@NotNull OperationType type) {
+        final V previous = get(type);
+        if (previous != null) {
+            values[type.getId()] = null;
+            size--;
+        }
+        return previous;
+    }
+
+    /**
+     * Get the number of mappings
+     *
+     * @return the number of mappings
+     * @since 2.1
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether there are no mappings
+     *
+     * @return whether the map is empty
+     * @since 2.1
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove all mappings
+     *
+     * @since 2.1
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Get the set of mapped operation types
+     *
+     * @return a new set of the mapped types
+     * @since 2.1
+     */
+    @NotNull
+    public OperationTypeSet keySet() {
+        final OperationTypeSet keys = new OperationTypeSet();
+        forEach((type, value) -> keys.add(type));
+        return keys;
+    }
+
+    /**
+     * Perform an action for every mapping, in id order
+     *
+     * @param action the action to perform
+     * @since 2.1
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(@NotNull BiConsumer<OperationType, V> action) {
+        for (int id = 0; id < values.length; id++) {
+            if (values[id] != null) {
+                action.accept(OperationType.byId(id), (V) values[id]);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,186 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.operation;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * A set of {@link OperationType}s, backed by a bitset over their {@link OperationType#getId() ids}.
+ * <p>
+ * Membership tests are a single bit lookup, with no hashing, making this a compact way for claim plugins to store
+ * per-claim flags. This set is not thread-safe.
+ *
+ * @since 2.1
+ */
+@SuppressWarnings("unused")
+public final class OperationTypeSet extends AbstractSet<OperationType> {
+
+    private final BitSet bits;
+
+    public OperationTypeSet() {
+        this.bits = new BitSet(OperationType.getIdCount());
+    }
+
+    public OperationTypeSet(@NotNull Collection<OperationType> types) {
+        this();
+        this.addAll(types);
+    }
+
+    private OperationTypeSet(@NotNull BitSet bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Create a set containing the given types
+     *
+     * @param types the types
+     * @return the new set
+     * @since 2.1
+     */
+    @NotNull
+    public static OperationTypeSet of(@NotNull OperationType... types) {
+        final OperationTypeSet set = new OperationTypeSet();
+        for (OperationType type : types) {
+            set.add(type);
+        }
+        return set;
+    }
+
+    /**
+     * Returns whether this set contains an operation type
+     *
+     * @param type the operation type
+     * @return whether the type is in this set
+     * @since 2.1
+     */
+    public boolean contains(@NotNull OperationType type) {
+        return bits.get(type.getId());
+    }
+
+    @Override
+    public boolean contains(Object obj) {
+        return obj instanceof OperationType type && contains(type);
+    }
+
+    @Override
+    public boolean add(@NotNull OperationType type) {
+        final int id = type.getId();
+        if (bits.get(id)) {
+            return false;
+        }
+        bits.set(id);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object obj) {
+        if (!(obj instanceof OperationType type) || !bits.get(type.getId())) {
+            return false;
+        }
+        bits.clear(type.getId());
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return bits.cardinality();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return bits.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        bits.clear();
+    }
+
+    /**
+     * Returns whether this set contains any of the types in another set
+     *
+     * @param other the other set
+     * @return whether the sets intersect
+     * @since 2.1
+     */
+    public boolean containsAny(@NotNull OperationTypeSet other) {
+        return bits.intersects(other.bits);
+    }
+
+    /**
+     * Create a copy of this set
+     *
+     * @return the copy
+     * @since 2.1
+     */
+    @NotNull
+    public OperationTypeSet copy() {
+        return new OperationTypeSet((BitSet) bits.clone());
+    }
+
+    @NotNull
+    @Override
+    public Iterator<OperationType> iterator() {
+        return new Iterator<>() {
+            private int next = bits.nextSetBit(0);
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public OperationType next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                last = next;
+                next = bits.nextSetBit(next + 1);
+                return OperationType.byId(last);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                bits.clear(last);
+                last = -1;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof OperationTypeSet other) {
+            return bits.equals(other.bits);
+        }
+        return super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+}
@@ -0,0 +1,40 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.operation;
+
+// An OperationChunk backed by packed chunk coordinates; see OperationChunk#ofPacked
+record PackedOperationChunk(long packed) implements OperationChunk {
+
+    @Override
+    public int getX() {
+        return OperationChunk.unpackX(packed);
+    }
+
+    @Override
+    public int getZ() {
+        return OperationChunk.unpackZ(packed);
+    }
+
+    @Override
+    public long asPacked() {
+        return packed;
+    }
+
+}
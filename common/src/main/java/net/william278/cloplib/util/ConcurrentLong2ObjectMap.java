@@ -0,0 +1,233 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * A thread-safe hash map from primitive {@code long} keys to objects, split into {@link Long2ObjectMap stripes} that
+ * are each guarded by their own lock
+ * <p>
+ * Lookups allocate nothing, and threads only contend when they access keys in the same stripe. Null values are not
+ * permitted.
+ *
+ * @param <V> the type of value
+ * @since 2.1
+ */
+@SuppressWarnings("unused")
+public final class ConcurrentLong2ObjectMap<V> {
+
+    private static final int STRIPES = 16;
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private final Long2ObjectMap<V>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentLong2ObjectMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative");
+        }
+        this.stripes = new Long2ObjectMap[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Long2ObjectMap<>(expectedSize / STRIPES);
+        }
+    }
+
+    public ConcurrentLong2ObjectMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Get the value mapped to a key
+     *
+     * @param key the key
+     * @return the value, or {@code null} if there is none
+     * @since 2.1
+     */
+    @Nullable
+    public V get(long key) {
+        final Long2ObjectMap<V> stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.get(key);
+        }
+    }
+
+    /**
+     * Map a key to a value, replacing any existing value
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the previous value, or {@code null} if there was none
+     * @since 2.1
+     */
+    @Nullable
+    public V put(long key, @NotNull V value) {
+        final Long2ObjectMap<V> stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.put(key, value);
+        }
+    }
+
+    /**
+     * Map a key to a value, if it isn't mapped already
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the existing value, or {@code null} if there was none and the value was mapped
+     * @since 2.1
+     */
+    @Nullable
+    public V putIfAbsent(long key, @NotNull V value) {
+        final Long2ObjectMap<V> stripe = stripe(key);
+        synchronized (stripe) {
+            final V existing = stripe.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            stripe.put(key, value);
+            return null;
+        }
+    }
+
+    /**
+     * Replace a key's value, only if it is currently mapped to an expected value
+     *
+     * @param key      the key
+     * @param expected the value expected to be mapped, compared with {@link Object#equals(Object)}
+     * @param value    the new value
+     * @return whether the value was replaced
+     * @since 2.1
+     */
+    public boolean replace(long key, @NotNull V expected, @NotNull V value) {
+        final Long2ObjectMap<V> stripe = stripe(key);
+        synchronized (stripe) {
+            if (!Objects.equals(stripe.get(key), expected)) {
+                return false;
+            }
+            stripe.put(key, value);
+            return true;
+        }
+    }
+
+    /**
+     * Remove a key's mapping
+     *
+     * @param key the key
+     * @return the removed value, or {@code null} if there was none
+     * @since 2.1
+     */
+    @Nullable
+    public V remove(long key) {
+        final Long2ObjectMap<V> stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.remove(key);
+        }
+    }
+
+    /**
+     * Remove a key's mapping, only if it is currently mapped to an expected value
+     *
+     * @param key      the key
+     * @param expected the value expected to be mapped, compared with {@link Object#equals(Object)}
+     * @return whether the mapping was removed
+     * @since 2.1
+     */
+    public boolean remove(long key, @NotNull V expected) {
+        final Long2ObjectMap<V> stripe = stripe(key);
+        synchronized (stripe) {
+            if (!Objects.equals(stripe.get(key), expected)) {
+                return false;
+            }
+            stripe.remove(key);
+            return true;
+        }
+    }
+
+    /**
+     * Get the number of mappings; mappings changed while this is counted may or may not be counted
+     *
+     * @return the number of mappings
+     * @since 2.1
+     */
+    public int size() {
+        int size = 0;
+        for (Long2ObjectMap<V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns whether there are no mappings
+     *
+     * @return whether the map is empty
+     * @since 2.1
+     */
+    public boolean isEmpty() {
+        for (Long2ObjectMap<V> stripe : stripes) {
+            synchronized (stripe) {
+                if (!stripe.isEmpty()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Remove all mappings
+     *
+     * @since 2.1
+     */
+    public void clear() {
+        for (Long2ObjectMap<V> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    /**
+     * Perform an action for every mapping, in no particular order, holding each stripe's lock while its mappings are
+     * visited; the action must not modify this map
+     *
+     * @param action the action to perform
+     * @since 2.1
+     */
+    public void forEach(@NotNull Long2ObjectMap.Consumer<V> action) {
+        for (Long2ObjectMap<V> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.forEach(action);
+            }
+        }
+    }
+
+    // The stripe holding a key, chosen from the high bits of its hash so keys spread evenly within each stripe
+    @NotNull
+    private Long2ObjectMap<V> stripe(long key) {
+        return stripes[(int) ((key * 0x9E3779B97F4A7C15L) >>> 60)];
+    }
+
+}
@@ -0,0 +1,287 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive {@code long} keys to objects, such as from
+ * {@link net.william278.cloplib.operation.OperationChunk#pack(int, int) packed chunk coordinates} to claim data.
+ * <p>
+ * Keys are stored unboxed in an open-addressed table, so lookups allocate nothing and don't call
+ * {@code hashCode}/{@code equals}. Null values are not permitted. This map is not thread-safe.
+ *
+ * @param <V> the type of value
+ * @since 2.1
+ */
+@SuppressWarnings("unused")
+public final class Long2ObjectMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    // The zero key marks a free slot in the table, so its value is held separately
+    private long[] keys;
+    private V[] values;
+    @Nullable
+    private V zeroValue;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    public Long2ObjectMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative");
+        }
+        allocate(tableSize(expectedSize));
+    }
+
+    public Long2ObjectMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Get the value mapped to a key
+     *
+     * @param key the key
+     * @return the value, or {@code null} if there is none
+     * @since 2.1
+     */
+    @Nullable
+    public V get(long key) {
+        if (key == 0) {
+            return zeroValue;
+        }
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            final long current = keys[slot];
+            if (current == key) {
+                return values[slot];
+            }
+            if (current == 0) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Get the value mapped to a key, or a default if there is none
+     *
+     * @param key          the key
+     * @param defaultValue the value to return if the key isn't mapped
+     * @return the value, or {@code defaultValue} if there is none
+     * @since 2.1
+     */
+    public V getOrDefault(long key, V defaultValue) {
+        final V value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Returns whether a key is mapped to a value
+     *
+     * @param key the key
+     * @return whether the key is mapped
+     * @since 2.1
+     */
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Map a key to a value, replacing any existing value
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the previous value, or {@code null} if there was none
+     * @since 2.1
+     */
+    @Nullable
+    public V put(long key, @NotNull V value) {
+        if (value == null) {
+            throw new NullPointerException("Null values are not permitted");
+        }
+        if (key == 0) {
+            final V previous = zeroValue;
+            zeroValue = value;
+            if (previous == null) {
+                size++;
+            }
+            return previous;
+        }
+        int slot = slot(key);
+        for (; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                final V previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            resize(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Remove a key's mapping
+     *
+     * @param key the key
+     * @return the removed value, or {@code null} if there was none
+     * @since 2.1
+     */
+    @Nullable
+    public V remove(long key) {
+        if (key == 0) {
+            final V previous = zeroValue;
+            if (previous != null) {
+                zeroValue = null;
+                size--;
+            }
+            return previous;
+        }
+        for (int slot = slot(key); keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                final V previous = values[slot];
+                size--;
+                shiftKeys(slot);
+                return previous;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the number of mappings
+     *
+     * @return the number of mappings
+     * @since 2.1
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether there are no mappings
+     *
+     * @return whether the map is empty
+     * @since 2.1
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove all mappings
+     *
+     * @since 2.1
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        zeroValue = null;
+        size = 0;
+    }
+
+    /**
+     * Perform an action for every mapping, in no particular order
+     *
+     * @param action the action to perform
+     * @since 2.1
+     */
+    public void forEach(@NotNull Consumer<V> action) {
+        if (zeroValue != null) {
+            action.accept(0, zeroValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                action.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    // Close the gap left by a removed entry, moving back entries that probed past it
+    private void shiftKeys(int slot) {
+        int last = slot;
+        for (slot = (slot + 1) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+            final int home = slot(keys[slot]);
+            if (last <= slot ? (home <= last || home > slot) : (home <= last && home > slot)) {
+                keys[last] = keys[slot];
+                values[last] = values[slot];
+                last = slot;
+            }
+        }
+        keys[last] = 0;
+        values[last] = null;
+    }
+
+    private void resize(int capacity) {
+        final long[] oldKeys = keys;
+        final V[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            final long key = oldKeys[i];
+            if (key != 0) {
+                int slot = slot(key);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = (V[]) new Object[capacity];
+        this.mask = capacity - 1;
+        this.resizeAt = Math.min(capacity - 1, (int) Math.ceil(capacity * LOAD_FACTOR));
+    }
+
+    private int slot(long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableSize(int expectedSize) {
+        final int needed = Math.max(2, (int) Math.ceil(expectedSize / LOAD_FACTOR) + 1);
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    /**
+     * An action performed on each mapping of a {@link Long2ObjectMap}
+     *
+     * @param <V> the type of value
+     * @since 2.1
+     */
+    @FunctionalInterface
+    public interface Consumer<V> {
+
+        void accept(long key, @NotNull V value);
+
+    }
+
+}
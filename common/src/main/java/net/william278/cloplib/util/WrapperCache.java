@@ -0,0 +1,91 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A thread-safe cache of platform wrappers, such as {@link net.william278.cloplib.operation.OperationUser}s and
+ * {@link net.william278.cloplib.operation.OperationWorld}s, keyed by the UUID of the object they wrap
+ * <p>
+ * Wrappers are created the first time they are requested, then reused until {@link #invalidate(UUID) invalidated};
+ * platform listeners invalidate them when the wrapped player leaves or world unloads.
+ *
+ * @param <T> the type of wrapper
+ * @since 2.1
+ */
+public final class WrapperCache<T> {
+
+    private final Map<UUID, T> wrappers = new ConcurrentHashMap<>();
+
+    /**
+     * Get the wrapper of an object, creating it if it isn't cached
+     *
+     * @param id      the UUID of the object
+     * @param object  the object to wrap
+     * @param factory creates a wrapper for the object
+     * @param <S>     the type of object
+     * @return the cached wrapper
+     * @since 2.1
+     */
+    @NotNull
+    public <S> T get(@NotNull UUID id, @NotNull S object, @NotNull Function<? super S, ? extends T> factory) {
+        final T wrapper = wrappers.get(id);
+        if (wrapper != null) {
+            return wrapper;
+        }
+        return wrappers.computeIfAbsent(id, (key) -> factory.apply(object));
+    }
+
+    /**
+     * Forget the cached wrapper of an object, if there is one
+     *
+     * @param id the UUID of the object
+     * @since 2.1
+     */
+    public void invalidate(@NotNull UUID id) {
+        wrappers.remove(id);
+    }
+
+    /**
+     * Forget all cached wrappers
+     *
+     * @since 2.1
+     */
+    public void clear() {
+        wrappers.clear();
+    }
+
+    /**
+     * Get the number of cached wrappers
+     *
+     * @return the number of cached wrappers
+     * @since 2.1
+     */
+    public int size() {
+        return wrappers.size();
+    }
+
+}
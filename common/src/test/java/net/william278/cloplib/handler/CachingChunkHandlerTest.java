@@ -0,0 +1,260 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.handler;
+
+import net.william278.cloplib.operation.*;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.UUID;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingChunkHandlerTest {
+
+    private static final OperationWorld WORLD = world();
+
+    @Test
+    public void testNatureCachedUntilTick() {
+        final CountingHandler inner = new CountingHandler();
+        final CachingChunkHandler handler = ticked(new CachingChunkHandler(inner));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(handler.cancelChunkNature(WORLD, 1, 0, 2, 0, () -> null, () -> null));
+            assertFalse(handler.cancelChunkNature(WORLD, 2, 0, 1, 0, () -> null, () -> null));
+        }
+        assertEquals(2, inner.natureCalls);
+        assertEquals(4, handler.getMetrics().getHits());
+        assertEquals(2, handler.getMetrics().getMisses());
+
+        handler.tick();
+        assertTrue(handler.cancelChunkNature(WORLD, 1, 0, 2, 0, () -> null, () -> null));
+        assertEquals(3, inner.natureCalls);
+
+        handler.invalidate(WORLD, chunk(1, 0));
+        assertTrue(handler.cancelChunkNature(WORLD, 1, 0, 2, 0, () -> null, () -> null));
+        assertEquals(4, inner.natureCalls);
+
+        handler.invalidateAll();
+        assertTrue(handler.cancelChunkNature(WORLD, 1, 0, 2, 0, () -> null, () -> null));
+        assertEquals(5, inner.natureCalls);
+    }
+
+    @Test
+    public void testWorldsCachedSeparately() {
+        final CountingHandler inner = new CountingHandler();
+        final CachingChunkHandler handler = ticked(new CachingChunkHandler(inner));
+        final OperationWorld other = world();
+        assertTrue(handler.cancelChunkNature(WORLD, 1, 0, 2, 0, () -> null, () -> null));
+        assertTrue(handler.cancelChunkNature(other, 1, 0, 2, 0, () -> null, () -> null));
+        assertEquals(2, inner.natureCalls);
+    }
+
+    @Test
+    public void testSpawnCategoriesCachedSeparately() {
+        final CountingHandler inner = new CountingHandler();
+        final CachingChunkHandler handler = ticked(new CachingChunkHandler(inner));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(handler.cancelOperation(OperationType.MONSTER_SPAWN, WORLD, 48, 64, 5, () -> null));
+            assertFalse(handler.cancelOperation(OperationType.PASSIVE_MOB_SPAWN, WORLD, 48, 64, 5, () -> null));
+            assertFalse(handler.cancelOperation(OperationType.MONSTER_SPAWN, WORLD, 20, 64, 5, () -> null));
+        }
+        assertEquals(3, inner.chunkOperationCalls);
+        assertEquals(6, handler.getSpawnMetrics().getHits());
+        assertEquals(3, handler.getSpawnMetrics().getMisses());
+        assertEquals(0, handler.getMetrics().getMisses());
+    }
+
+    @Test
+    public void testOtherOperationsNotCached() {
+        final CountingHandler inner = new CountingHandler();
+        final CachingChunkHandler handler = ticked(new CachingChunkHandler(inner));
+        for (int i = 0; i < 3; i++) {
+            handler.cancelChunkOperation(OperationType.BLOCK_BREAK, WORLD, 1, 0, () -> null);
+        }
+        assertEquals(3, inner.chunkOperationCalls);
+        assertEquals(0, handler.getSpawnMetrics().getHits());
+    }
+
+    @Test
+    public void testUncacheableCoordinates() {
+        final CountingHandler inner = new CountingHandler();
+        final CachingChunkHandler handler = ticked(new CachingChunkHandler(inner));
+        for (int i = 0; i < 2; i++) {
+            assertFalse(handler.cancelChunkNature(WORLD, Integer.MAX_VALUE, 0, Integer.MIN_VALUE, 0,
+                    () -> null, () -> null));
+        }
+        assertEquals(2, inner.natureCalls);
+    }
+
+    // Colliding keys in a small table evict each other, but must never return another key's decision
+    @Test
+    public void testSmallTableEviction() {
+        final CountingHandler inner = new CountingHandler();
+        final CachingChunkHandler handler = ticked(new CachingChunkHandler(inner, 4));
+        for (int round = 0; round < 3; round++) {
+            for (int x = -32; x < 32; x++) {
+                assertEquals(x > 0, handler.cancelChunkNature(WORLD, x, 0, x + 1, 0, () -> null, () -> null));
+                assertEquals(x % 3 == 0, handler.cancelChunkOperation(OperationType.MONSTER_SPAWN, WORLD, x, 7,
+                        () -> null));
+            }
+        }
+        assertEquals(handler.getMetrics().getHits() + handler.getMetrics().getMisses(), 3 * 64);
+        assertEquals(inner.natureCalls, handler.getMetrics().getMisses());
+    }
+
+    // Without a tick source, decisions expire by time rather than being cached forever
+    @Test
+    public void testExpiresWithoutTicks() throws InterruptedException {
+        final CountingHandler inner = new CountingHandler();
+        final CachingChunkHandler handler = new CachingChunkHandler(inner);
+        assertTrue(handler.cancelChunkNature(WORLD, 1, 0, 2, 0, () -> null, () -> null));
+        Thread.sleep(100);
+        assertTrue(handler.cancelChunkNature(WORLD, 1, 0, 2, 0, () -> null, () -> null));
+        assertEquals(2, inner.natureCalls);
+    }
+
+    @Test
+    public void testBatchDelegated() {
+        final CountingHandler inner = new CountingHandler();
+        final CachingChunkHandler handler = ticked(new CachingChunkHandler(inner));
+        assertSame(inner.batch, handler.cancelNatureBatch(WORLD, position(), new long[]{1L}, packed -> null));
+    }
+
+    // Tick a handler, so its decisions are only invalidated by the test
+    private static CachingChunkHandler ticked(CachingChunkHandler handler) {
+        handler.tick();
+        return handler;
+    }
+
+    private static OperationWorld world() {
+        final UUID uuid = UUID.randomUUID();
+        return new OperationWorld() {
+            @NotNull
+            @Override
+            public String getName() {
+                return "world";
+            }
+
+            @NotNull
+            @Override
+            public UUID getUuid() {
+                return uuid;
+            }
+        };
+    }
+
+    private static OperationChunk chunk(int x, int z) {
+        return new OperationChunk() {
+            @Override
+            public int getX() {
+                return x;
+            }
+
+            @Override
+            public int getZ() {
+                return z;
+            }
+        };
+    }
+
+    private static OperationPosition position() {
+        return new OperationPosition() {
+            @Override
+            public double getX() {
+                return 0;
+            }
+
+            @Override
+            public double getY() {
+                return 0;
+            }
+
+            @Override
+            public double getZ() {
+                return 0;
+            }
+
+            @NotNull
+            @Override
+            public OperationWorld getWorld() {
+                return WORLD;
+            }
+
+            @NotNull
+            @Override
+            public OperationChunk getChunk() {
+                return chunk(0, 0);
+            }
+        };
+    }
+
+    // Cancels nature flowing east from positive chunks, and monster spawns in chunks with X divisible by three
+    private static final class CountingHandler implements ChunkHandler {
+
+        private final BitSet batch = new BitSet();
+        private int natureCalls;
+        private int chunkOperationCalls;
+
+        @Override
+        public boolean cancelOperation(@NotNull Operation operation) {
+            return false;
+        }
+
+        @Override
+        public boolean cancelChunkOperation(@NotNull OperationType type, @NotNull OperationWorld world,
+                                            int chunkX, int chunkZ, @NotNull Supplier<OperationPosition> position) {
+            chunkOperationCalls++;
+            return type.equals(OperationType.MONSTER_SPAWN) && chunkX % 3 == 0;
+        }
+
+        @Override
+        public boolean cancelNature(@NotNull OperationWorld world,
+                                    @NotNull OperationChunk chunk1, @NotNull OperationChunk chunk2) {
+            return false;
+        }
+
+        @Override
+        public boolean cancelChunkNature(@NotNull OperationWorld world, int chunkX1, int chunkZ1,
+                                         int chunkX2, int chunkZ2, @NotNull Supplier<OperationPosition> position1,
+                                         @NotNull Supplier<OperationPosition> position2) {
+            natureCalls++;
+            return chunkX1 > 0 && chunkX2 > chunkX1;
+        }
+
+        @NotNull
+        @Override
+        public BitSet cancelNatureBatch(@NotNull OperationWorld world, @NotNull OperationPosition source,
+                                        long @NotNull [] positions,
+                                        @NotNull LongFunction<OperationPosition> resolver) {
+            return batch;
+        }
+
+        @Override
+        public boolean cancelChunkChange(@NotNull OperationUser user, @NotNull OperationChunk from,
+                                         @NotNull OperationChunk to) {
+            return false;
+        }
+
+    }
+
+}
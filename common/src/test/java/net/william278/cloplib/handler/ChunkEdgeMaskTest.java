@@ -0,0 +1,147 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.handler;
+
+import net.william278.cloplib.operation.OperationChunk;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkEdgeMaskTest {
+
+    private static final UUID WORLD = UUID.randomUUID();
+
+    @Test
+    public void testClaimAndUnclaim() {
+        final ChunkEdgeMask mask = new ChunkEdgeMask();
+        mask.setOwner(WORLD, 0, 0, "a");
+        assertEquals("a", mask.getOwner(WORLD, 0, 0));
+        assertEquals(ChunkEdgeMask.NORTH | ChunkEdgeMask.EAST | ChunkEdgeMask.SOUTH | ChunkEdgeMask.WEST,
+                mask.getMask(WORLD, 0, 0));
+        assertEquals(ChunkEdgeMask.WEST, mask.getMask(WORLD, 1, 0));
+        assertEquals(ChunkEdgeMask.SOUTH, mask.getMask(WORLD, 0, -1));
+
+        mask.setOwner(WORLD, 1, 0, "a");
+        assertEquals(ChunkEdgeMask.NORTH | ChunkEdgeMask.SOUTH | ChunkEdgeMask.WEST, mask.getMask(WORLD, 0, 0));
+        assertEquals(ChunkEdgeMask.NORTH | ChunkEdgeMask.EAST | ChunkEdgeMask.SOUTH, mask.getMask(WORLD, 1, 0));
+        assertFalse(mask.isBoundary(WORLD, 0, 0, 1, 0));
+        assertTrue(mask.isBoundary(WORLD, 1, 0, 2, 0));
+
+        mask.setOwner(WORLD, 1, 0, "b");
+        assertTrue(mask.isBoundary(WORLD, 0, 0, 1, 0));
+        assertTrue(mask.isBoundary(WORLD, 1, 0, 0, 0));
+
+        mask.setOwner(WORLD, 0, 0, null);
+        mask.setOwner(WORLD, 1, 0, null);
+        for (int x = -2; x <= 3; x++) {
+            for (int z = -2; z <= 2; z++) {
+                assertNull(mask.getOwner(WORLD, x, z));
+                assertEquals(0, mask.getMask(WORLD, x, z));
+            }
+        }
+    }
+
+    @Test
+    public void testDistantChunks() {
+        final ChunkEdgeMask mask = new ChunkEdgeMask();
+        mask.setOwner(WORLD, new long[]{OperationChunk.pack(0, 0), OperationChunk.pack(5, 5)}, "a");
+        assertFalse(mask.isBoundary(WORLD, 0, 0, 5, 5));
+        assertTrue(mask.isBoundary(WORLD, 0, 0, 3, 3));
+        assertFalse(mask.isBoundary(WORLD, 2, 2, 3, 3));
+        assertFalse(mask.isBoundary(UUID.randomUUID(), 0, 0, 3, 3));
+    }
+
+    @Test
+    public void testClear() {
+        final ClaimedChunkIndex index = new ClaimedChunkIndex();
+        final ChunkEdgeMask mask = new ChunkEdgeMask(index);
+        mask.setOwner(WORLD, 2, 2, "a");
+        mask.clear(WORLD);
+        assertNull(mask.getOwner(WORLD, 2, 2));
+        assertEquals(0, mask.getMask(WORLD, 2, 3));
+        assertFalse(index.isClaimed(WORLD, 2, 2));
+    }
+
+    // Masks updated incrementally as owners change must match masks computed from scratch, and a linked index must
+    // mark exactly the chunks with an owner as claimed
+    @Test
+    public void testMatchesBruteForce() {
+        final Random random = new Random(23);
+        final ClaimedChunkIndex index = new ClaimedChunkIndex();
+        final ChunkEdgeMask mask = new ChunkEdgeMask(index);
+        final Map<Long, String> owners = new HashMap<>();
+        for (int op = 0; op < 2_000; op++) {
+            final int x = random.nextInt(12) - 6;
+            final int z = random.nextInt(12) - 6;
+            final String owner = random.nextInt(4) == 0 ? null : "owner" + random.nextInt(3);
+            if (random.nextInt(10) == 0) {
+                final long[] chunks = {OperationChunk.pack(x, z), OperationChunk.pack(x + 1, z),
+                        OperationChunk.pack(x, z + 1)};
+                mask.setOwner(WORLD, chunks, owner);
+                for (long chunk : chunks) {
+                    setExpected(owners, chunk, owner);
+                }
+            } else {
+                mask.setOwner(WORLD, x, z, owner);
+                setExpected(owners, OperationChunk.pack(x, z), owner);
+            }
+            if (op % 50 == 0) {
+                assertMatches(owners, mask, index);
+            }
+        }
+        assertMatches(owners, mask, index);
+    }
+
+    private static void setExpected(Map<Long, String> owners, long chunk, String owner) {
+        if (owner == null) {
+            owners.remove(chunk);
+        } else {
+            owners.put(chunk, owner);
+        }
+    }
+
+    private static void assertMatches(Map<Long, String> owners, ChunkEdgeMask mask, ClaimedChunkIndex index) {
+        final int[] dx = {0, 1, 0, -1};
+        final int[] dz = {-1, 0, 1, 0};
+        for (int x = -8; x <= 8; x++) {
+            for (int z = -8; z <= 8; z++) {
+                final String owner = owners.get(OperationChunk.pack(x, z));
+                assertEquals(owner, mask.getOwner(WORLD, x, z));
+                assertEquals(owner != null, index.isClaimed(WORLD, x, z));
+                int expected = 0;
+                for (int i = 0; i < dx.length; i++) {
+                    final String neighbour = owners.get(OperationChunk.pack(x + dx[i], z + dz[i]));
+                    if (!Objects.equals(owner, neighbour)) {
+                        expected |= 1 << i;
+                    }
+                    assertEquals(!Objects.equals(owner, neighbour), mask.isBoundary(WORLD, x, z, x + dx[i], z + dz[i]));
+                }
+                assertEquals(expected, mask.getMask(WORLD, x, z));
+            }
+        }
+    }
+
+}
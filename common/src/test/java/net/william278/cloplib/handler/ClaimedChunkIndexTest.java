@@ -0,0 +1,157 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.handler;
+
+import net.william278.cloplib.operation.OperationChunk;
+import net.william278.cloplib.operation.OperationPosition;
+import net.william278.cloplib.operation.OperationType;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClaimedChunkIndexTest {
+
+    private static final UUID WORLD = UUID.randomUUID();
+    private static final UUID OTHER_WORLD = UUID.randomUUID();
+
+    @Test
+    public void testAddRemove() {
+        final ClaimedChunkIndex index = new ClaimedChunkIndex();
+        index.add(WORLD, 3, -4);
+        assertTrue(index.isClaimed(WORLD, 3, -4));
+        assertFalse(index.isClaimed(WORLD, -4, 3));
+        assertFalse(index.isClaimed(OTHER_WORLD, 3, -4));
+
+        index.add(WORLD, 3, -4);
+        assertEquals(1, index.size(WORLD));
+        index.remove(WORLD, 3, -4);
+        assertFalse(index.isClaimed(WORLD, 3, -4));
+        assertEquals(0, index.size(WORLD));
+    }
+
+    @Test
+    public void testAddAllRemoveAll() {
+        final ClaimedChunkIndex index = new ClaimedChunkIndex();
+        index.add(WORLD, 5, 5);
+        index.addAll(WORLD, new long[]{OperationChunk.pack(0, 0), OperationChunk.pack(1, 0),
+                OperationChunk.pack(1, 0), OperationChunk.pack(5, 5)});
+        assertEquals(3, index.size(WORLD));
+        assertTrue(index.isClaimed(WORLD, 0, 0));
+        assertTrue(index.isClaimed(WORLD, 1, 0));
+
+        index.removeAll(WORLD, new long[]{OperationChunk.pack(0, 0), OperationChunk.pack(5, 5),
+                OperationChunk.pack(9, 9)});
+        assertEquals(1, index.size(WORLD));
+        assertFalse(index.isClaimed(WORLD, 0, 0));
+        assertTrue(index.isClaimed(WORLD, 1, 0));
+        assertFalse(index.isClaimed(WORLD, 5, 5));
+
+        index.removeAll(WORLD, new long[]{OperationChunk.pack(1, 0)});
+        assertEquals(0, index.size(WORLD));
+    }
+
+    // Chunk (0, 0) packs to the zero key, which the set holds separately from its table
+    @Test
+    public void testOriginChunk() {
+        final ClaimedChunkIndex index = new ClaimedChunkIndex();
+        index.add(WORLD, 0, 0);
+        index.add(WORLD, 1, 0);
+        assertTrue(index.isClaimed(WORLD, 0, 0));
+        assertEquals(2, index.size(WORLD));
+
+        index.remove(WORLD, 1, 0);
+        assertTrue(index.isClaimed(WORLD, 0, 0));
+        index.remove(WORLD, 0, 0);
+        assertFalse(index.isClaimed(WORLD, 0, 0));
+        assertEquals(0, index.size(WORLD));
+
+        index.set(WORLD, new long[]{0, 0, OperationChunk.pack(2, 2)});
+        assertTrue(index.isClaimed(WORLD, 0, 0));
+        assertEquals(2, index.size(WORLD));
+    }
+
+    @Test
+    public void testSetCountsDuplicatesOnce() {
+        final ClaimedChunkIndex index = new ClaimedChunkIndex();
+        final long chunk = OperationChunk.pack(-7, 9);
+        index.set(WORLD, new long[]{chunk, chunk, chunk});
+        assertEquals(1, index.size(WORLD));
+        assertTrue(index.isClaimed(WORLD, -7, 9));
+
+        index.set(WORLD, new long[0]);
+        assertFalse(index.isClaimed(WORLD, -7, 9));
+    }
+
+    @Test
+    public void testBlocks() {
+        final ClaimedChunkIndex index = new ClaimedChunkIndex();
+        index.add(WORLD, -1, 2);
+        assertTrue(index.isBlockClaimed(WORLD, -1, 32));
+        assertTrue(index.isBlockClaimed(WORLD, -16, 47));
+        assertFalse(index.isBlockClaimed(WORLD, 0, 32));
+
+        assertFalse(index.isAnyBlockClaimed(WORLD, new long[]{
+                OperationPosition.packBlock(0, 64, 32), OperationPosition.packBlock(1, 64, 32)
+        }));
+        assertTrue(index.isAnyBlockClaimed(WORLD, new long[]{
+                OperationPosition.packBlock(0, 64, 32), OperationPosition.packBlock(-1, 64, 32)
+        }));
+    }
+
+    @Test
+    public void testWildernessCanceled() {
+        final ClaimedChunkIndex index = new ClaimedChunkIndex();
+        assertFalse(index.isWildernessCanceled(OperationType.FIRE_SPREAD));
+        index.setWildernessCanceled(List.of(OperationType.FIRE_SPREAD));
+        assertTrue(index.isWildernessCanceled(OperationType.FIRE_SPREAD));
+        assertFalse(index.isWildernessCanceled(OperationType.MONSTER_SPAWN));
+    }
+
+    @Test
+    public void testMatchesHashSet() {
+        final Random random = new Random(21);
+        final ClaimedChunkIndex index = new ClaimedChunkIndex();
+        final Set<Long> expected = new HashSet<>();
+        for (int op = 0; op < 5_000; op++) {
+            final int x = random.nextInt(32) - 16;
+            final int z = random.nextInt(32) - 16;
+            if (random.nextInt(3) == 0) {
+                index.remove(WORLD, x, z);
+                expected.remove(OperationChunk.pack(x, z));
+            } else {
+                index.add(WORLD, x, z);
+                expected.add(OperationChunk.pack(x, z));
+            }
+            assertEquals(expected.size(), index.size(WORLD));
+        }
+        for (int x = -17; x <= 17; x++) {
+            for (int z = -17; z <= 17; z++) {
+                assertEquals(expected.contains(OperationChunk.pack(x, z)), index.isClaimed(WORLD, x, z));
+            }
+        }
+    }
+
+}
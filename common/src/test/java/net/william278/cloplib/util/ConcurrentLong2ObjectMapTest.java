@@ -0,0 +1,102 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentLong2ObjectMapTest {
+
+    @Test
+    public void testConditionalUpdates() {
+        final ConcurrentLong2ObjectMap<String> map = new ConcurrentLong2ObjectMap<>();
+        assertNull(map.putIfAbsent(0, "a"));
+        assertEquals("a", map.putIfAbsent(0, "b"));
+        assertFalse(map.replace(0, "b", "c"));
+        assertTrue(map.replace(0, "a", "c"));
+        assertFalse(map.remove(0, "a"));
+        assertTrue(map.remove(0, "c"));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testMatchesHashMap() {
+        final Random random = new Random(20);
+        final ConcurrentLong2ObjectMap<Long> map = new ConcurrentLong2ObjectMap<>(4);
+        final Map<Long, Long> expected = new HashMap<>();
+        for (int op = 0; op < 20_000; op++) {
+            final long key = random.nextInt(2_000) - 1_000;
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, key), map.put(key, key));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        final AtomicInteger visited = new AtomicInteger();
+        map.forEach((key, value) -> {
+            assertEquals(key, (long) value);
+            assertTrue(expected.containsKey(key));
+            visited.incrementAndGet();
+        });
+        assertEquals(expected.size(), visited.get());
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    // Threads claiming the same keys must each see exactly one winner per key
+    @Test
+    public void testConcurrentPutIfAbsent() throws InterruptedException {
+        final ConcurrentLong2ObjectMap<Integer> map = new ConcurrentLong2ObjectMap<>();
+        final AtomicInteger wins = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int id = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (long key = 0; key < 10_000; key++) {
+                    if (map.putIfAbsent(key, id) == null) {
+                        wins.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(10_000, wins.get());
+        assertEquals(10_000, map.size());
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Long2ObjectMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        final Long2ObjectMap<String> map = new Long2ObjectMap<>();
+        assertNull(map.put(1L, "a"));
+        assertEquals("a", map.put(1L, "b"));
+        assertEquals("b", map.get(1L));
+        assertTrue(map.containsKey(1L));
+        assertEquals(1, map.size());
+        assertEquals("b", map.remove(1L));
+        assertNull(map.get(1L));
+        assertNull(map.remove(1L));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testZeroKey() {
+        final Long2ObjectMap<String> map = new Long2ObjectMap<>();
+        assertNull(map.get(0L));
+        assertNull(map.put(0L, "zero"));
+        assertEquals("zero", map.put(0L, "again"));
+        assertEquals(1, map.size());
+        assertEquals("again", map.get(0L));
+
+        final Map<Long, String> seen = new HashMap<>();
+        map.forEach(seen::put);
+        assertEquals(Map.of(0L, "again"), seen);
+
+        assertEquals("again", map.remove(0L));
+        assertNull(map.remove(0L));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testNullValueRejected() {
+        assertThrows(NullPointerException.class, () -> new Long2ObjectMap<String>().put(1L, null));
+    }
+
+    @Test
+    public void testResize() {
+        final Long2ObjectMap<Long> map = new Long2ObjectMap<>(0);
+        for (long key = -500; key <= 500; key++) {
+            map.put(key, key);
+        }
+        assertEquals(1001, map.size());
+        for (long key = -500; key <= 500; key++) {
+            assertEquals(key, map.get(key));
+        }
+        assertNull(map.get(501L));
+    }
+
+    @Test
+    public void testClear() {
+        final Long2ObjectMap<String> map = new Long2ObjectMap<>();
+        map.put(0L, "zero");
+        map.put(7L, "seven");
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(0L));
+        assertNull(map.get(7L));
+        map.put(7L, "seven");
+        assertEquals("seven", map.get(7L));
+    }
+
+    // Removing entries from crowded tables must shift back every entry that probed past them, including across the
+    // end of the table, or later lookups stop at the gap
+    @Test
+    public void testRemoveShiftsBackCollidingKeys() {
+        final Random random = new Random(278);
+        for (int round = 0; round < 200; round++) {
+            final Long2ObjectMap<Long> map = new Long2ObjectMap<>(2);
+            final Map<Long, Long> expected = new HashMap<>();
+            for (int op = 0; op < 400; op++) {
+                final long key = random.nextInt(48) - 24;
+                if (random.nextInt(3) == 0) {
+                    assertEquals(expected.remove(key), map.remove(key));
+                } else {
+                    final long value = random.nextLong();
+                    assertEquals(expected.put(key, value), map.put(key, value));
+                }
+                assertEquals(expected.size(), map.size());
+            }
+            assertMatches(expected, map);
+        }
+    }
+
+    @Test
+    public void testMatchesHashMap() {
+        final Random random = new Random(12);
+        final Long2ObjectMap<Long> map = new Long2ObjectMap<>();
+        final Map<Long, Long> expected = new HashMap<>();
+        for (int op = 0; op < 50_000; op++) {
+            final long key = random.nextBoolean() ? random.nextInt(4096) - 2048 : random.nextLong();
+            switch (random.nextInt(4)) {
+                case 0 -> assertEquals(expected.remove(key), map.remove(key));
+                case 1 -> assertEquals(expected.get(key), map.get(key));
+                default -> assertEquals(expected.put(key, (long) op), map.put(key, (long) op));
+            }
+        }
+        assertMatches(expected, map);
+    }
+
+    private static void assertMatches(Map<Long, Long> expected, Long2ObjectMap<Long> map) {
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        final Map<Long, Long> actual = new HashMap<>();
+        map.forEach((key, value) -> assertNull(actual.put(key, value)));
+        assertEquals(expected, actual);
+    }
+
+}
@@ -28,9 +28,13 @@ import org.jetbrains.annotations.NotNull;
 
 public final class FireTickEvents {
 
+    // Invoker used while no listeners are registered
+    private static final BeforeSpreadCallback EMPTY_SPREAD = (world, pos) -> ActionResult.PASS;
+
     @NotNull
     public static final Event<BeforeSpreadCallback> BEFORE_SPREAD = EventFactory.createArrayBacked(
             BeforeSpreadCallback.class,
+            EMPTY_SPREAD,
             (callbacks) -> (world, pos) -> {
                 for (BeforeSpreadCallback listener : callbacks) {
                     final ActionResult result = listener.fireSpread(world, pos);
@@ -43,9 +47,13 @@ public final class FireTickEvents {
             }
     );
 
+    // Invoker used while no listeners are registered
+    private static final BeforeBurnCallback EMPTY_BURN = (world, pos) -> ActionResult.PASS;
+
     @NotNull
     public static final Event<BeforeBurnCallback> BEFORE_BURN = EventFactory.createArrayBacked(
             BeforeBurnCallback.class,
+            EMPTY_BURN,
             (callbacks) -> (world, pos) -> {
                 for (BeforeBurnCallback listener : callbacks) {
                     final ActionResult result = listener.fireBurn(world, pos);
@@ -58,6 +66,26 @@ public final class FireTickEvents {
             }
     );
 
+    /**
+     * Returns whether any listeners are registered for {@link #BEFORE_SPREAD}, so callers can skip preparing the event
+     *
+     * @return whether there are fire spread listeners
+     * @since 2.1
+     */
+    public static boolean hasSpreadListeners() {
+        return BEFORE_SPREAD.invoker() != EMPTY_SPREAD;
+    }
+
+    /**
+     * Returns whether any listeners are registered for {@link #BEFORE_BURN}, so callers can skip preparing the event
+     *
+     * @return whether there are fire burn listeners
+     * @since 2.1
+     */
+    public static boolean hasBurnListeners() {
+        return BEFORE_BURN.invoker() != EMPTY_BURN;
+    }
+
     @FunctionalInterface
     public interface BeforeSpreadCallback {
 
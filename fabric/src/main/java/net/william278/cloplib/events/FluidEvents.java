@@ -28,10 +28,14 @@ import org.jetbrains.annotations.NotNull;
 
 public final class FluidEvents {
 
+    // Invoker used while no listeners are registered
+    private static final BeforeFlowCallback EMPTY_FLOW = (world, from, to) -> ActionResult.PASS;
+
     // Perf note - this only fires for horizontal updates
     @NotNull
     public static final Event<BeforeFlowCallback> BEFORE_FLOW = EventFactory.createArrayBacked(
             BeforeFlowCallback.class,
+            EMPTY_FLOW,
             (callbacks) -> (world, from, to) -> {
                 for (BeforeFlowCallback listener : callbacks) {
                     final ActionResult result = listener.flow(world, from, to);
@@ -44,6 +48,16 @@ public final class FluidEvents {
             }
     );
 
+    /**
+     * Returns whether any listeners are registered for {@link #BEFORE_FLOW}, so callers can skip preparing the event
+     *
+     * @return whether there are fluid flow listeners
+     * @since 2.1
+     */
+    public static boolean hasListeners() {
+        return BEFORE_FLOW.invoker() != EMPTY_FLOW;
+    }
+
     @FunctionalInterface
     public interface BeforeFlowCallback {
 
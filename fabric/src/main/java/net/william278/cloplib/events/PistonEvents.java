@@ -32,9 +32,13 @@ import java.util.List;
 
 public final class PistonEvents {
 
+    // Invoker used while no listeners are registered
+    private static final BeforeActuationCallback EMPTY_ACTUATION = (world, pistonPos, pistonDirection, affectedBlocks) -> ActionResult.PASS;
+
     @NotNull
     public static final Event<BeforeActuationCallback> BEFORE_ACTUATION = EventFactory.createArrayBacked(
             BeforeActuationCallback.class,
+            EMPTY_ACTUATION,
             (callbacks) -> (world, pistonPos, pistonDirection, affectedBlocks) -> {
                 for (BeforeActuationCallback listener : callbacks) {
                     final ActionResult result = listener.actuate(world, pistonPos, pistonDirection, affectedBlocks);
@@ -47,6 +51,16 @@ public final class PistonEvents {
             }
     );
 
+    /**
+     * Returns whether any listeners are registered for {@link #BEFORE_ACTUATION}, so callers can skip preparing the event
+     *
+     * @return whether there are piston actuation listeners
+     * @since 2.1
+     */
+    public static boolean hasListeners() {
+        return BEFORE_ACTUATION.invoker() != EMPTY_ACTUATION;
+    }
+
     @FunctionalInterface
     public interface BeforeActuationCallback {
 
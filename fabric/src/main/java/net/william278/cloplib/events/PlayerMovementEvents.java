@@ -29,9 +29,13 @@ import org.jetbrains.annotations.NotNull;
 
 public final class PlayerMovementEvents {
 
+    // Invoker used while no listeners are registered
+    private static final BeforeMoveCallback EMPTY_MOVE = (player, world, from, to) -> ActionResult.PASS;
+
     @NotNull
     public static final Event<BeforeMoveCallback> BEFORE_MOVE = EventFactory.createArrayBacked(
             BeforeMoveCallback.class,
+            EMPTY_MOVE,
             (callbacks) -> (player, world, from, to) -> {
                 for (BeforeMoveCallback listener : callbacks) {
                     final ActionResult result = listener.move(player, world, from, to);
@@ -44,6 +48,27 @@ public final class PlayerMovementEvents {
             }
     );
 
+    // Fired before a player is teleported by the server, including when they respawn or change world
+    @NotNull
+    public static final Event<BeforeTeleportCallback> BEFORE_TELEPORT = EventFactory.createArrayBacked(
+            BeforeTeleportCallback.class,
+            (callbacks) -> (player) -> {
+                for (BeforeTeleportCallback listener : callbacks) {
+                    listener.teleport(player);
+                }
+            }
+    );
+
+    /**
+     * Returns whether any listeners are registered for {@link #BEFORE_MOVE}, so callers can skip preparing the event
+     *
+     * @return whether there are movement listeners
+     * @since 2.1
+     */
+    public static boolean hasListeners() {
+        return BEFORE_MOVE.invoker() != EMPTY_MOVE;
+    }
+
     @FunctionalInterface
     public interface BeforeMoveCallback {
 
@@ -52,4 +77,11 @@ public final class PlayerMovementEvents {
 
     }
 
+    @FunctionalInterface
+    public interface BeforeTeleportCallback {
+
+        void teleport(ServerPlayerEntity player);
+
+    }
+
 }
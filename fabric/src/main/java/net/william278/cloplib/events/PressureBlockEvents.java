@@ -28,11 +28,18 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
+import java.util.function.Predicate;
+
 public final class PressureBlockEvents {
 
+    // Invoker used while no listeners are registered
+    private static final BeforeCollisionCallback EMPTY_COLLISION = (world, pos, state, entity) -> ActionResult.PASS;
+
     @NotNull
     public static final Event<BeforeCollisionCallback> BEFORE_COLLISION = EventFactory.createArrayBacked(
             BeforeCollisionCallback.class,
+            EMPTY_COLLISION,
             (callbacks) -> (world, pos, state, entity) -> {
                 for (BeforeCollisionCallback listener : callbacks) {
                     final ActionResult result = listener.collide(world, pos, state, entity);
@@ -45,6 +52,61 @@ public final class PressureBlockEvents {
             }
     );
 
+    // Listeners only called for the block states their filters accept
+    private static volatile FilteredCallback[] filtered = new FilteredCallback[0];
+
+    /**
+     * Register a collision listener that is only called for block states its filter accepts
+     * <p>
+     * Collisions with states no filter accepts skip these listeners without preparing the event. Listeners registered
+     * to {@link #BEFORE_COLLISION} itself still see every collision.
+     *
+     * @param filter   returns whether the listener should be called for a block state
+     * @param callback the listener
+     * @since 2.1
+     */
+    public static synchronized void register(@NotNull Predicate<BlockState> filter,
+                                             @NotNull BeforeCollisionCallback callback) {
+        final FilteredCallback[] callbacks = Arrays.copyOf(filtered, filtered.length + 1);
+        callbacks[callbacks.length - 1] = new FilteredCallback(filter, callback);
+        filtered = callbacks;
+    }
+
+    /**
+     * Returns whether any listeners are registered, so callers can skip preparing the event
+     *
+     * @return whether there are collision listeners
+     * @since 2.1
+     */
+    public static boolean hasListeners() {
+        return filtered.length > 0 || BEFORE_COLLISION.invoker() != EMPTY_COLLISION;
+    }
+
+    /**
+     * Call the filtered listeners whose filters accept the block state, then the listeners of
+     * {@link #BEFORE_COLLISION}, until one returns a result other than {@link ActionResult#PASS}
+     *
+     * @param world  the world the collision is in
+     * @param pos    the position of the block
+     * @param state  the state of the block
+     * @param entity the entity colliding with the block
+     * @return the result of the first listener not to pass, or {@link ActionResult#PASS}
+     * @since 2.1
+     */
+    @NotNull
+    public static ActionResult collide(World world, BlockPos pos, BlockState state, Entity entity) {
+        for (FilteredCallback callback : filtered) {
+            if (callback.filter().test(state)) {
+                final ActionResult result = callback.callback().collide(world, pos, state, entity);
+                if (result != ActionResult.PASS) {
+                    return result;
+                }
+            }
+        }
+        final BeforeCollisionCallback invoker = BEFORE_COLLISION.invoker();
+        return invoker != EMPTY_COLLISION ? invoker.collide(world, pos, state, entity) : ActionResult.PASS;
+    }
+
     @FunctionalInterface
     public interface BeforeCollisionCallback {
 
@@ -53,4 +115,7 @@ public final class PressureBlockEvents {
 
     }
 
+    private record FilteredCallback(@NotNull Predicate<BlockState> filter, @NotNull BeforeCollisionCallback callback) {
+    }
+
 }
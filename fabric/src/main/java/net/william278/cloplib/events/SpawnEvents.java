@@ -29,9 +29,13 @@ import org.jetbrains.annotations.NotNull;
 
 public final class SpawnEvents {
 
+    // Invoker used while no listeners are registered
+    private static final BeforeMobSpawn EMPTY_MOB_SPAWN = (world, entity, reason) -> ActionResult.PASS;
+
     @NotNull
     public static final Event<BeforeMobSpawn> BEFORE_MOB_SPAWN = EventFactory.createArrayBacked(
             BeforeMobSpawn.class,
+            EMPTY_MOB_SPAWN,
             (callbacks) -> (world, entity, reason) -> {
                 for (BeforeMobSpawn listener : callbacks) {
                     final ActionResult result = listener.spawn(world, entity, reason);
@@ -44,6 +48,16 @@ public final class SpawnEvents {
             }
     );
 
+    /**
+     * Returns whether any listeners are registered for {@link #BEFORE_MOB_SPAWN}, so callers can skip preparing the event
+     *
+     * @return whether there are mob spawn listeners
+     * @since 2.1
+     */
+    public static boolean hasListeners() {
+        return BEFORE_MOB_SPAWN.invoker() != EMPTY_MOB_SPAWN;
+    }
+
     @FunctionalInterface
     public interface BeforeMobSpawn {
 
@@ -23,7 +23,6 @@ import net.minecraft.util.ActionResult;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.world.World;
-import net.william278.cloplib.operation.Operation;
 import net.william278.cloplib.operation.OperationPosition;
 import net.william278.cloplib.operation.OperationType;
 import org.jetbrains.annotations.NotNull;
@@ -35,12 +34,7 @@ public interface FabricBlockMoveListener extends FabricListener {
     // Stop fluids from entering claims
     @NotNull
     default ActionResult onBlockFromTo(@NotNull World world, @NotNull BlockPos from, @NotNull BlockPos to) {
-        final OperationPosition blockPosition = getPosition(from, world);
-        if (getHandler().cancelNature(
-                blockPosition.getWorld(),
-                blockPosition,
-                getPosition(to, world))
-        ) {
+        if (cancelNaturalCrossing(world, from, to)) {
             return ActionResult.FAIL;
         }
         return ActionResult.PASS;
@@ -51,22 +45,28 @@ public interface FabricBlockMoveListener extends FabricListener {
                                          List<BlockPos> affectedBlocks) {
         final OperationPosition pistonPos = getPosition(pistonBlock, world);
         
-        if (getHandler().cancelOperation(Operation.of(
+        if (getHandler().cancelOperation(
                 OperationType.REDSTONE_ACTUATE,
                 pistonPos,
                 true
-        ))) {
+        )) {
             return ActionResult.FAIL;
         }
         
-        for (final BlockPos blockPos : affectedBlocks) {
-            if (getHandler().cancelNature(
-                    pistonPos.getWorld(),
-                    pistonPos,
-                    getPosition(blockPos.offset(pistonDirection), world)
-            )) {
-                return ActionResult.FAIL;
-            }
+        if (affectedBlocks.isEmpty()) {
+            return ActionResult.PASS;
+        }
+
+        // Check all moved blocks in one batch
+        final long[] positions = new long[affectedBlocks.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = affectedBlocks.get(i).offset(pistonDirection).asLong();
+        }
+        if (!getHandler().cancelNatureBatch(
+                getWorld(world), pistonPos, positions,
+                (packed) -> getPosition(BlockPos.fromLong(packed), world)
+        ).isEmpty()) {
+            return ActionResult.FAIL;
         }
         return ActionResult.PASS;
     }
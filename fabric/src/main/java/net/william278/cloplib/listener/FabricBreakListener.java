@@ -50,11 +50,11 @@ public interface FabricBreakListener extends FabricListener {
         final BlockState state = world.getBlockState(pos);
         final boolean isBlock = state != null && !Blocks.AIR.getDefaultState().equals(state);
         final BlockPos lastPos = getLastBreakPositions().get(playerEntity.getUuid());
-        if (isBlock && getHandler().cancelOperation(Operation.of(
-                getUser(playerEntity),
+        if (isBlock && getHandler().cancelOperation(Operation.lazy(
+                () -> getUser(playerEntity),
                 getChecker().isFarmMaterial(FabricListener.getId(state.getBlock()))
                         ? OperationType.FARM_BLOCK_BREAK : OperationType.BLOCK_BREAK,
-                getPosition(pos, world),
+                () -> getPosition(pos, world),
                 pos.equals(lastPos)
         ))) {
             getLastBreakPositions().put(playerEntity.getUuid(), pos);
@@ -66,11 +66,11 @@ public interface FabricBreakListener extends FabricListener {
     // After a block is broken
     default boolean onPlayerBreakBlock(World world, PlayerEntity playerEntity, BlockPos pos,
                                        @Nullable BlockState block, @Nullable BlockEntity tileEntity) {
-        if (block != null && getHandler().cancelOperation(Operation.of(
-                getUser(playerEntity),
+        if (block != null && getHandler().cancelOperation(Operation.lazy(
+                () -> getUser(playerEntity),
                 getChecker().isFarmMaterial(FabricListener.getId(block.getBlock()))
                         ? OperationType.FARM_BLOCK_BREAK : OperationType.BLOCK_BREAK,
-                getPosition(pos, world)
+                () -> getPosition(pos, world)
         ))) {
             this.sendTileEntityUpdate(tileEntity, playerEntity);
             return false;
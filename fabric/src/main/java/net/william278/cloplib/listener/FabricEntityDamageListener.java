@@ -81,10 +81,10 @@ public interface FabricEntityDamageListener extends FabricListener {
         // Handle decorative blocks (hanging items)
         final OperationPosition entityPos = getPosition(entity.getPos(), entity.getWorld(), entity.getYaw(), entity.getPitch());
         if ((entity instanceof AbstractDecorationEntity || entity instanceof ArmorStandEntity) &&
-                getHandler().cancelOperation(Operation.of(
+                getHandler().cancelOperation(
                         OperationType.EXPLOSION_DAMAGE_TERRAIN,
                         entityPos
-                ))) {
+                )) {
             return ActionResult.FAIL;
         }
 
@@ -95,10 +95,10 @@ public interface FabricEntityDamageListener extends FabricListener {
         }
 
         // All other causes
-        if (!isMonster(entity) && getHandler().cancelOperation(Operation.of(
+        if (!isMonster(entity) && getHandler().cancelOperation(
                 OperationType.EXPLOSION_DAMAGE_ENTITY,
                 entityPos
-        ))) {
+        )) {
             return ActionResult.FAIL;
         }
         return ActionResult.PASS;
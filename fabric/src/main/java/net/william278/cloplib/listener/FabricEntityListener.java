@@ -26,11 +26,15 @@ import net.minecraft.util.ActionResult;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.explosion.Explosion;
-import net.william278.cloplib.operation.Operation;
+import net.william278.cloplib.handler.ClaimedChunkIndex;
+import net.william278.cloplib.handler.WorldProfile;
 import net.william278.cloplib.operation.OperationType;
+import net.william278.cloplib.operation.OperationUser;
+import net.william278.cloplib.operation.OperationWorld;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Set;
 
@@ -49,29 +53,62 @@ public interface FabricEntityListener extends FabricListener {
             return ActionResult.PASS;
         }
 
-        // Cancel mob spawning
-        return getHandler().cancelOperation(Operation.of(
-                isMonster(entity) ? OperationType.MONSTER_SPAWN : OperationType.PASSIVE_MOB_SPAWN,
-                getPosition(entity.getPos(), world, entity.getYaw(), entity.getPitch()))
+        // Cancel mob spawning, skipping the handler in worlds with a fixed verdict, or in the wilderness
+        final OperationType type = isMonster(entity) ? OperationType.MONSTER_SPAWN : OperationType.PASSIVE_MOB_SPAWN;
+        final OperationWorld operationWorld = getWorld(world);
+        final WorldProfile.Verdict verdict = getWorldProfiles().getVerdict(operationWorld, type);
+        if (verdict != WorldProfile.Verdict.ASK) {
+            return verdict == WorldProfile.Verdict.DENY ? ActionResult.FAIL : ActionResult.PASS;
+        }
+        final ClaimedChunkIndex index = getHandler().getClaimedChunkIndex();
+        if (index != null
+                && !index.isBlockClaimed(operationWorld.getUuid(), entity.getBlockX(), entity.getBlockZ())) {
+            return index.isWildernessCanceled(type) ? ActionResult.FAIL : ActionResult.PASS;
+        }
+        return getHandler().cancelOperation(
+                type,
+                operationWorld, entity.getBlockX(), entity.getBlockY(), entity.getBlockZ(),
+                () -> getPosition(entity.getPos(), world, entity.getYaw(), entity.getPitch())
         ) ? ActionResult.FAIL : ActionResult.PASS;
     }
 
     @NotNull
     default List<BlockPos> onExplosionBreakBlocks(Explosion explosion, @Unmodifiable List<BlockPos> blockPos) {
-        final List<BlockPos> newList = Lists.newArrayList();
-        for (BlockPos pos : blockPos) {
-            if (!getHandler().cancelOperation(Operation.of(
-                    getPlayerSource(explosion.getCausingEntity()).map(this::getUser).orElse(null),
-                    isMonster(explosion.getCausingEntity())
-                            ? OperationType.MONSTER_DAMAGE_TERRAIN : OperationType.EXPLOSION_DAMAGE_TERRAIN,
-                    //#if MC>=12104
-                    getPosition(pos, explosion.getWorld())
-                    //#else
-                    //$$ getPosition(pos, explosion.world)
-                    //#endif
-            ))) {
-                newList.add(pos);
-            }
+        //#if MC>=12104
+        final World world = explosion.getWorld();
+        //#else
+        //$$ final World world = explosion.world;
+        //#endif
+
+        // Check all exploded blocks in one batch
+        final long[] positions = new long[blockPos.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = blockPos.get(i).asLong();
+        }
+        final OperationUser user = getPlayerSource(explosion.getCausingEntity()).map(this::getUser).orElse(null);
+        final OperationType type = isMonster(explosion.getCausingEntity())
+                ? OperationType.MONSTER_DAMAGE_TERRAIN : OperationType.EXPLOSION_DAMAGE_TERRAIN;
+
+        // Skip the handler in worlds with a fixed verdict, or for natural explosions entirely in the wilderness
+        final OperationWorld operationWorld = getWorld(world);
+        final WorldProfile.Verdict verdict = getWorldProfiles().getVerdict(operationWorld, type);
+        if (verdict != WorldProfile.Verdict.ASK) {
+            return verdict == WorldProfile.Verdict.DENY ? Lists.newArrayList() : blockPos;
+        }
+        final ClaimedChunkIndex index = getHandler().getClaimedChunkIndex();
+        if (user == null && index != null && !index.isAnyBlockClaimed(operationWorld.getUuid(), positions)) {
+            return index.isWildernessCanceled(type) ? Lists.newArrayList() : blockPos;
+        }
+
+        final BitSet canceled = getHandler().cancelOperationBatch(
+                user, type,
+                operationWorld, positions,
+                (packed) -> getPosition(BlockPos.fromLong(packed), world)
+        );
+
+        final List<BlockPos> newList = Lists.newArrayListWithCapacity(positions.length - canceled.cardinality());
+        for (int i = canceled.nextClearBit(0); i < positions.length; i = canceled.nextClearBit(i + 1)) {
+            newList.add(blockPos.get(i));
         }
         return newList;
     }
@@ -29,10 +29,16 @@ import net.minecraft.registry.Registries;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
+import net.william278.cloplib.handler.ClaimedChunkIndex;
 import net.william278.cloplib.handler.Handler;
+import net.william278.cloplib.handler.MovementTracker;
 import net.william278.cloplib.handler.TypeChecker;
+import net.william278.cloplib.handler.WorldProfile;
+import net.william278.cloplib.handler.WorldProfileCache;
 import net.william278.cloplib.operation.OperationPosition;
+import net.william278.cloplib.operation.OperationType;
 import net.william278.cloplib.operation.OperationUser;
+import net.william278.cloplib.operation.OperationWorld;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -48,6 +54,11 @@ public interface FabricListener extends InspectorCallbackProvider {
         return this.getPosition(pos.toCenterPos(), world, 0.0f, 0.0f);
     }
 
+    @NotNull
+    default OperationWorld getWorld(@NotNull net.minecraft.world.World world) {
+        return this.getPosition(Vec3d.ZERO, world, 0.0f, 0.0f).getWorld();
+    }
+
     @NotNull
     OperationUser getUser(@NotNull PlayerEntity player);
 
@@ -57,6 +68,49 @@ public interface FabricListener extends InspectorCallbackProvider {
     @NotNull
     TypeChecker getChecker();
 
+    @NotNull
+    WorldProfileCache getWorldProfiles();
+
+    @NotNull
+    MovementTracker getMovementTracker();
+
+    // Returns whether a natural operation at a block should be canceled; fixed verdicts skip the handler
+    default boolean cancelNaturalOperation(@NotNull OperationType type, @NotNull net.minecraft.world.World world,
+                                           @NotNull BlockPos pos) {
+        final OperationWorld operationWorld = getWorld(world);
+        final WorldProfile.Verdict verdict = getWorldProfiles().getVerdict(operationWorld, type);
+        if (verdict != WorldProfile.Verdict.ASK) {
+            return verdict == WorldProfile.Verdict.DENY;
+        }
+        final ClaimedChunkIndex index = getHandler().getClaimedChunkIndex();
+        if (index != null && !index.isBlockClaimed(operationWorld.getUuid(), pos.getX(), pos.getZ())) {
+            return index.isWildernessCanceled(type);
+        }
+        return getHandler().cancelOperation(
+                type,
+                operationWorld, pos.getX(), pos.getY(), pos.getZ(),
+                () -> getPosition(pos, world)
+        );
+    }
+
+    // Returns whether nature crossing between two blocks should be canceled, skipping the handler in the wilderness
+    default boolean cancelNaturalCrossing(@NotNull net.minecraft.world.World world,
+                                          @NotNull BlockPos from, @NotNull BlockPos to) {
+        final OperationWorld operationWorld = getWorld(world);
+        final ClaimedChunkIndex index = getHandler().getClaimedChunkIndex();
+        if (index != null && !index.isBlockClaimed(operationWorld.getUuid(), from.getX(), from.getZ())
+                && !index.isBlockClaimed(operationWorld.getUuid(), to.getX(), to.getZ())) {
+            return false;
+        }
+        return getHandler().cancelNature(
+                operationWorld,
+                from.getX(), from.getY(), from.getZ(),
+                to.getX(), to.getY(), to.getZ(),
+                () -> getPosition(from, world),
+                () -> getPosition(to, world)
+        );
+    }
+
     default Optional<ServerPlayerEntity> getPlayerSource(@Nullable Entity e) {
         if (e == null) {
             return Optional.empty();
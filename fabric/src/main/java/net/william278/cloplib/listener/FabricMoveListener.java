@@ -21,6 +21,7 @@ package net.william278.cloplib.listener;
 
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.ActionResult;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.NotNull;
@@ -33,11 +34,14 @@ public interface FabricMoveListener extends FabricListener {
             return ActionResult.PASS;
         }
 
-        // Handle cancelling moving, if needed
-        return getHandler().cancelMovement(
-                getUser(player),
-                getPosition(from, world, player.getYaw(), player.getPitch()),
-                getPosition(to, world, player.getYaw(), player.getPitch())
+        // Handle cancelling moving, only asking the handler when the player crosses into a new chunk
+        return getMovementTracker().cancelMovement(
+                player.getUuid(), getWorld(world),
+                MathHelper.floor(from.getX()), MathHelper.floor(from.getZ()),
+                MathHelper.floor(to.getX()), MathHelper.floor(to.getZ()),
+                () -> getUser(player),
+                () -> getPosition(from, world, player.getYaw(), player.getPitch()),
+                () -> getPosition(to, world, player.getYaw(), player.getPitch())
         ) ? ActionResult.FAIL : ActionResult.PASS;
     }
 
@@ -20,25 +20,46 @@
 package net.william278.cloplib.listener;
 
 import com.google.common.collect.Maps;
+import lombok.AccessLevel;
 import lombok.Getter;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityWorldChangeEvents;
+import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
 import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
 import net.fabricmc.fabric.api.event.player.*;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.fabricmc.loader.api.ModContainer;
 import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKey;
 import net.minecraft.resource.LifecycledResourceManager;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.chunk.WorldChunk;
 import net.william278.cloplib.events.*;
+import net.william278.cloplib.handler.CachedAsyncHandler;
+import net.william278.cloplib.handler.CachingChunkHandler;
 import net.william278.cloplib.handler.Handler;
+import net.william278.cloplib.handler.MovementTracker;
 import net.william278.cloplib.handler.SpecialTypeChecker;
 import net.william278.cloplib.handler.TypeChecker;
+import net.william278.cloplib.handler.WorldProfileCache;
 import net.william278.cloplib.operation.OperationPosition;
 import net.william278.cloplib.operation.OperationType;
 import net.william278.cloplib.operation.OperationUser;
+import net.william278.cloplib.operation.OperationWorld;
+import net.william278.cloplib.util.WrapperCache;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -46,11 +67,14 @@ import org.jetbrains.annotations.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * A listener for Fabric callbacks that can be used to cancel operations
@@ -66,10 +90,21 @@ public abstract class FabricOperationListener implements OperationListener, Fabr
     private final TypeChecker checker;
     private final Map<InspectorCallbackProvider.InspectionTool, BiConsumer<OperationUser, OperationPosition>> inspectionToolHandlers;
     private final Map<UUID, BlockPos> lastBreakPositions;
+    private final WorldProfileCache worldProfiles;
+    private final MovementTracker movementTracker;
+    @Getter(AccessLevel.NONE)
+    private final Map<RegistryKey<net.minecraft.world.World>, OperationWorld> worlds = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final WrapperCache<OperationUser> users = new WrapperCache<>();
 
-    // Maps of registry blocks to operation types, precalculated on data (re)load for perf
-    private final Map<String, OperationType> precalculatedItemMap = Maps.newHashMap();
-    private final Map<String, OperationType> precalculatedBlockMap = Maps.newHashMap();
+    // Operation types of registry items and blocks by raw ID, precalculated on data (re)load for perf
+    @Getter(AccessLevel.NONE)
+    private volatile OperationType[] precalculatedItemTypes = new OperationType[0];
+    @Getter(AccessLevel.NONE)
+    private volatile OperationType[] precalculatedBlockTypes = new OperationType[0];
+    @Getter(AccessLevel.NONE)
+    @Nullable
+    private volatile BitSet pressureSensitiveStates;
 
     @SuppressWarnings("unused")
     public FabricOperationListener(@NotNull Handler handler, @NotNull ModContainer modContainer) {
@@ -90,6 +125,8 @@ public abstract class FabricOperationListener implements OperationListener, Fabr
         this.checker = checker;
         this.inspectionToolHandlers = map;
         this.lastBreakPositions = Maps.newHashMap();
+        this.worldProfiles = new WorldProfileCache(handler);
+        this.movementTracker = new MovementTracker(handler);
         this.registerCallbacks();
     }
 
@@ -103,7 +140,7 @@ public abstract class FabricOperationListener implements OperationListener, Fabr
         AttackEntityCallback.EVENT.register(this::onPlayerAttackEntity);
         UseItemCallback.EVENT.register(this::onPlayerUseItem); // Registered last
         LecternEvents.BEFORE_BOOK_TAKEN.register(this::onPlayerTakeLecternBook);
-        PressureBlockEvents.BEFORE_COLLISION.register(this::onEntityPhysicallyInteract);
+        PressureBlockEvents.register(this::isPressureSensitive, this::onEntityPhysicallyInteract);
         ProjectileEvents.BEFORE_BLOCK_HIT.register(this::onProjectileHitBlock);
         ProjectileEvents.BEFORE_ENTITY_HIT.register(this::onProjectileHitEntity);
         DispenserEvents.BEFORE_PLACE.register(this::onDispenserPlace);
@@ -121,23 +158,144 @@ public abstract class FabricOperationListener implements OperationListener, Fabr
         // Register handlers for precalculating data
         ServerLifecycleEvents.SERVER_STARTED.register(this::onServerStarted);
         ServerLifecycleEvents.END_DATA_PACK_RELOAD.register(this::onDataReloaded);
+        ServerLifecycleEvents.SERVER_STOPPED.register(this::onServerStopped);
+
+        // Register handlers for forgetting cached users and worlds
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> onPlayerConnection(handler));
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> onPlayerConnection(handler));
+        ServerWorldEvents.UNLOAD.register(this::onWorldUnload);
+
+        // Register handlers for forgetting tracked movement when players move without walking
+        PlayerMovementEvents.BEFORE_TELEPORT.register(this::onPlayerTeleport);
+        ServerPlayerEvents.AFTER_RESPAWN.register((oldPlayer, newPlayer, alive) -> onPlayerTeleport(newPlayer));
+        ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register(
+                (player, from, to) -> onPlayerTeleport(player)
+        );
+
+        // Register handlers for loading claim data of an async handler alongside chunks
+        ServerChunkEvents.CHUNK_LOAD.register(this::onChunkLoad);
+        ServerChunkEvents.CHUNK_UNLOAD.register(this::onChunkUnload);
+
+        // Register a handler for invalidating a caching handler's decisions every tick
+        ServerTickEvents.START_SERVER_TICK.register(this::onServerTick);
     }
 
-    // Recalculate block operation map when the server starts
+    // Recalculate block operation types when the server starts
     private void onServerStarted(MinecraftServer server) {
-        this.precalculateMaps();
+        this.precalculateTypes();
     }
 
-    // Recalculate block operation map when the data pack is reloaded
+    // Recalculate block operation types when the data pack is reloaded
     private void onDataReloaded(MinecraftServer server, LifecycledResourceManager manager, boolean b) {
-        this.precalculateMaps();
+        this.precalculateTypes();
+    }
+
+    // Forget cached worlds and users when the server stops
+    private void onServerStopped(MinecraftServer server) {
+        worlds.clear();
+        users.clear();
+        worldProfiles.refreshAll();
+        movementTracker.invalidateAll();
+    }
+
+    // Invalidate a caching handler's decisions at the start of each tick
+    private void onServerTick(MinecraftServer server) {
+        if (handler instanceof CachingChunkHandler caching) {
+            caching.tick();
+        }
+    }
+
+    // Forget a world's cached data when it unloads
+    private void onWorldUnload(MinecraftServer server, ServerWorld world) {
+        if (handler instanceof CachedAsyncHandler<?> cached) {
+            cached.evict(getWorld(world));
+        }
+        worldProfiles.refresh(getWorld(world).getUuid());
+        worlds.remove(world.getRegistryKey());
+    }
+
+    // Start loading a chunk's claim data as it loads, so it is ready before the chunk is checked
+    private void onChunkLoad(ServerWorld world, WorldChunk chunk) {
+        if (handler instanceof CachedAsyncHandler<?> cached) {
+            cached.prefetch(getWorld(world), chunk.getPos().x, chunk.getPos().z);
+        }
     }
 
-    private void precalculateMaps() {
-        precalculatedItemMap.clear();
-        this.precalculateItems(precalculatedItemMap);
-        precalculatedBlockMap.clear();
-        this.precalculateBlocks(precalculatedBlockMap);
+    private void onChunkUnload(ServerWorld world, WorldChunk chunk) {
+        if (handler instanceof CachedAsyncHandler<?> cached) {
+            cached.evict(getWorld(world), chunk.getPos().x, chunk.getPos().z);
+        }
+    }
+
+    // Forget a player's cached user and tracked movement when they join or leave
+    private void onPlayerConnection(ServerPlayNetworkHandler handler) {
+        users.invalidate(handler.getPlayer().getUuid());
+        movementTracker.forget(handler.getPlayer().getUuid());
+    }
+
+    // Forget a player's tracked movement when they teleport, respawn or change world
+    private void onPlayerTeleport(ServerPlayerEntity player) {
+        movementTracker.forget(player.getUuid());
+    }
+
+    private void precalculateTypes() {
+        this.precalculatedItemTypes = this.precalculateItems();
+        this.precalculatedBlockTypes = this.precalculateBlocks();
+        this.pressureSensitiveStates = this.precalculatePressureSensitiveStates();
+    }
+
+    @Nullable
+    @Override
+    public OperationType getPrecalculatedType(@NotNull Block block) {
+        final OperationType[] types = precalculatedBlockTypes;
+        final int id = Registries.BLOCK.getRawId(block);
+        return id >= 0 && id < types.length ? types[id] : null;
+    }
+
+    @Nullable
+    @Override
+    public OperationType getPrecalculatedType(@NotNull Item item) {
+        final OperationType[] types = precalculatedItemTypes;
+        final int id = Registries.ITEM.getRawId(item);
+        return id >= 0 && id < types.length ? types[id] : null;
+    }
+
+    @NotNull
+    @Override
+    @Deprecated(since = "2.1")
+    public Map<String, OperationType> getPrecalculatedBlockMap() {
+        final Map<String, OperationType> map = Maps.newHashMap();
+        Registries.BLOCK.forEach((b) -> {
+            final OperationType type = getPrecalculatedType(b);
+            if (type != null) {
+                map.put(Registries.BLOCK.getId(b).toString(), type);
+            }
+        });
+        return map;
+    }
+
+    @NotNull
+    @Override
+    @Deprecated(since = "2.1")
+    public Map<String, OperationType> getPrecalculatedItemMap() {
+        final Map<String, OperationType> map = Maps.newHashMap();
+        Registries.ITEM.forEach((i) -> {
+            final OperationType type = getPrecalculatedType(i);
+            if (type != null) {
+                map.put(i.toString(), type);
+            }
+        });
+        return map;
+    }
+
+    // Falls back to checking the block's ID until the states have been precalculated
+    @Override
+    public boolean isPressureSensitive(@NotNull BlockState state) {
+        final BitSet states = pressureSensitiveStates;
+        if (states == null) {
+            return getChecker().isPressureSensitiveMaterial(FabricListener.getId(state.getBlock()));
+        }
+        return states.get(Block.getRawIdFromState(state));
     }
 
     @Nullable
@@ -167,6 +325,20 @@ public abstract class FabricOperationListener implements OperationListener, Fabr
     public abstract OperationPosition getPosition(@NotNull Vec3d pos, @NotNull net.minecraft.world.World world,
                                                   float yaw, float pitch);
 
+    /**
+     * Returns the {@link OperationWorld} of a world, cached per world
+     *
+     * @param world the world
+     * @return the OperationWorld of the world
+     * @since 2.1
+     */
+    @NotNull
+    @Override
+    public OperationWorld getWorld(@NotNull net.minecraft.world.World world) {
+        return worlds.computeIfAbsent(world.getRegistryKey(),
+                (key) -> getPosition(Vec3d.ZERO, world, 0.0f, 0.0f).getWorld());
+    }
+
     /**
      * Returns the {@link OperationUser} of a {@link PlayerEntity}
      *
@@ -177,6 +349,22 @@ public abstract class FabricOperationListener implements OperationListener, Fabr
     @NotNull
     public abstract OperationUser getUser(@NotNull PlayerEntity player);
 
+    /**
+     * Returns the cached {@link OperationUser} of a {@link PlayerEntity}, creating it if it isn't cached yet. Cached
+     * users are forgotten when the player joins or leaves, so implementations of {@link #getUser(PlayerEntity)} can
+     * use this to create one user per player per session, rather than one per event.
+     *
+     * @param player  the player
+     * @param factory creates the OperationUser of the player
+     * @return the cached OperationUser
+     * @since 2.1
+     */
+    @NotNull
+    protected final OperationUser getCachedUser(@NotNull PlayerEntity player,
+                                                @NotNull Function<PlayerEntity, OperationUser> factory) {
+        return users.get(player.getUuid(), player, factory);
+    }
+
     /**
      * Set the callback for when a player inspects a block while holding something
      *
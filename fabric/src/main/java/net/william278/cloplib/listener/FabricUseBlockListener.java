@@ -31,6 +31,7 @@ import net.minecraft.entity.projectile.ProjectileEntity;
 import net.minecraft.inventory.Inventory;
 import net.minecraft.item.BlockItem;
 import net.minecraft.item.BucketItem;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.registry.Registries;
 import net.minecraft.server.network.ServerPlayerEntity;
@@ -42,11 +43,13 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.william278.cloplib.handler.TypeChecker;
 import net.william278.cloplib.operation.Operation;
+import net.william278.cloplib.operation.OperationContext;
 import net.william278.cloplib.operation.OperationPosition;
 import net.william278.cloplib.operation.OperationType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.BitSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiPredicate;
@@ -64,21 +67,78 @@ public interface FabricUseBlockListener extends FabricListener {
                     b instanceof ButtonBlock || b instanceof RedstoneOreBlock, OperationType.REDSTONE_INTERACT
     ));
 
+    // Returns the precalculated operation type for using a block, if it has one
+    @Nullable
+    OperationType getPrecalculatedType(@NotNull Block block);
+
+    @Nullable
+    OperationType getPrecalculatedType(@NotNull Item item);
+
+    /**
+     * Get the precalculated operation types of blocks, keyed by block ID
+     *
+     * @return a snapshot of the precalculated block types
+     * @deprecated use {@link #getPrecalculatedType(Block)}
+     */
     @NotNull
+    @Deprecated(since = "2.1")
     Map<String, OperationType> getPrecalculatedBlockMap();
 
+    /**
+     * Get the precalculated operation types of items, keyed by item ID
+     *
+     * @return a snapshot of the precalculated item types
+     * @deprecated use {@link #getPrecalculatedType(Item)}
+     */
     @NotNull
+    @Deprecated(since = "2.1")
     Map<String, OperationType> getPrecalculatedItemMap();
 
+    // Returns whether a block state is one of the precalculated pressure-sensitive states
+    boolean isPressureSensitive(@NotNull BlockState state);
+
     private Optional<OperationType> testBlockPredicate(@NotNull Block block) {
         return USE_BLOCK_PREDICATE_MAP.entrySet().stream()
                 .filter(e -> e.getKey().test(block, getChecker()))
                 .map(Map.Entry::getValue).findFirst();
     }
 
-    default void precalculateBlocks(@NotNull Map<String, OperationType> map) {
+    // Returns the operation types of all registered blocks, indexed by raw registry ID
+    @NotNull
+    default OperationType[] precalculateBlocks() {
+        final OperationType[] types = new OperationType[Registries.BLOCK.size()];
         Registries.BLOCK.forEach((i) -> testBlockPredicate(i).ifPresent(
-                type -> map.put(Registries.BLOCK.getId(i).toString(), type)));
+                type -> types[Registries.BLOCK.getRawId(i)] = type));
+        return types;
+    }
+
+    /**
+     * Put the operation types of all registered blocks into a map, keyed by block ID
+     *
+     * @param map the map to put the block types into
+     * @deprecated use {@link #precalculateBlocks()}
+     */
+    @Deprecated(since = "2.1")
+    default void precalculateBlocks(@NotNull Map<String, OperationType> map) {
+        final OperationType[] types = precalculateBlocks();
+        Registries.BLOCK.forEach((b) -> {
+            final OperationType type = types[Registries.BLOCK.getRawId(b)];
+            if (type != null) {
+                map.put(Registries.BLOCK.getId(b).toString(), type);
+            }
+        });
+    }
+
+    // Returns the raw IDs of every state of the registered pressure-sensitive blocks
+    @NotNull
+    default BitSet precalculatePressureSensitiveStates() {
+        final BitSet states = new BitSet(Block.STATE_IDS.size());
+        Registries.BLOCK.forEach((b) -> {
+            if (getChecker().isPressureSensitiveMaterial(FabricListener.getId(b))) {
+                b.getStateManager().getStates().forEach(s -> states.set(Block.getRawIdFromState(s)));
+            }
+        });
+        return states;
     }
 
     @NotNull
@@ -94,31 +154,30 @@ public interface FabricUseBlockListener extends FabricListener {
         }
 
         // Check entity
+        final OperationContext context = OperationContext.of(() -> getUser(player));
         OperationType operationType = checkUseBlockEntity(player, world, world.getBlockEntity(blockHit.getBlockPos()));
-        if (operationType != null && getHandler().cancelOperation(Operation.of(
-                getUser(player),
+        if (operationType != null && getHandler().cancelOperation(context.operation(
                 operationType,
-                getPosition(blockHit.getBlockPos(), world),
+                blockHit.getBlockPos(), (pos) -> getPosition(pos, world),
                 hand == Hand.OFF_HAND
         ))) {
             return ActionResult.FAIL;
         }
 
         // Check precalculated block operation map
-        operationType = getPrecalculatedBlockMap().get(Registries.BLOCK.getId(blockState.getBlock()).toString());
+        operationType = getPrecalculatedType(blockState.getBlock());
         final ItemStack held = playerEntity.getStackInHand(hand);
-        if (operationType != null && getHandler().cancelOperation(Operation.of(
-                getUser(player),
+        if (operationType != null && getHandler().cancelOperation(context.operation(
                 operationType,
-                getPosition(blockHit.getBlockPos(), world),
+                blockHit.getBlockPos(), (pos) -> getPosition(pos, world),
                 hand == Hand.OFF_HAND
         ))) {
             return ActionResult.FAIL;
         } else if (held != null && (held.getItem() instanceof BlockItem || held.getItem() instanceof BucketItem) &&
-                getHandler().cancelOperation(Operation.of(
-                        getUser(player),
-                        getPrecalculatedItemMap().getOrDefault(held.toString(), OperationType.BLOCK_PLACE),
-                        getPosition(BlockPos.ofFloored(blockHit.getPos().offset(blockHit.getSide(), 1.0d)), world)
+                getHandler().cancelOperation(context.operation(
+                        OperationType.BLOCK_PLACE,
+                        BlockPos.ofFloored(blockHit.getPos().offset(blockHit.getSide(), 1.0d)),
+                        (pos) -> getPosition(pos, world)
                 ))) {
             return ActionResult.FAIL;
         }
@@ -144,7 +203,7 @@ public interface FabricUseBlockListener extends FabricListener {
     @NotNull
     default ActionResult onEntityPhysicallyInteract(World world, BlockPos blockPos, BlockState state, Entity entity) {
         // Check if the block was a pressure sensitive block
-        if (!getChecker().isPressureSensitiveMaterial(FabricListener.getId(state.getBlock()))) {
+        if (!isPressureSensitive(state)) {
             return ActionResult.PASS;
         }
 
@@ -156,10 +215,10 @@ public interface FabricUseBlockListener extends FabricListener {
 
         // Check if this is allowed
         final ServerPlayerEntity player = playerSource.get();
-        if (getHandler().cancelOperation(Operation.of(
-                getUser(player),
+        if (getHandler().cancelOperation(Operation.lazy(
+                () -> getUser(player),
                 OperationType.REDSTONE_INTERACT,
-                getPosition(blockPos, world),
+                () -> getPosition(blockPos, world),
                 true
         ))) {
             return ActionResult.FAIL;
@@ -174,10 +233,10 @@ public interface FabricUseBlockListener extends FabricListener {
         }
 
         // Check if this is allowed
-        if (getHandler().cancelOperation(Operation.of(
-                getUser(player),
+        if (getHandler().cancelOperation(Operation.lazy(
+                () -> getUser(player),
                 OperationType.CONTAINER_OPEN,
-                getPosition(blockPos, world),
+                () -> getPosition(blockPos, world),
                 true
         ))) {
             return ActionResult.FAIL;
@@ -191,10 +250,10 @@ public interface FabricUseBlockListener extends FabricListener {
         // Check players shooting stuff
         final Optional<ServerPlayerEntity> playerShooter = getPlayerSource(shooter);
         if (playerShooter.isPresent()) {
-            return getHandler().cancelOperation(Operation.of(
-                    getUser(playerShooter.get()),
+            return getHandler().cancelOperation(Operation.lazy(
+                    () -> getUser(playerShooter.get()),
                     OperationType.REDSTONE_INTERACT,
-                    getPosition(blockPos, world)
+                    () -> getPosition(blockPos, world)
             )) ? ActionResult.FAIL : ActionResult.PASS;
         }
 
@@ -209,10 +268,10 @@ public interface FabricUseBlockListener extends FabricListener {
         }
 
         // Prevent mobs from shooting projectiles to do stuff
-        return getHandler().cancelOperation(Operation.of(
+        return getHandler().cancelOperation(
                 OperationType.MONSTER_DAMAGE_TERRAIN,
                 getPosition(blockPos, world)
-        )) ? ActionResult.FAIL : ActionResult.PASS;
+        ) ? ActionResult.FAIL : ActionResult.PASS;
     }
 
 }
@@ -57,20 +57,20 @@ public interface FabricUseEntityListener extends FabricListener {
                                                 EntityHitResult entityHitResult) {
 
         if (entity instanceof ArmorStandEntity || entity instanceof ItemFrameEntity) {
-            return getHandler().cancelOperation(Operation.of(
-                    getUser(player),
+            return getHandler().cancelOperation(Operation.lazy(
+                    () -> getUser(player),
                     OperationType.CONTAINER_OPEN,
-                    getPosition(entityHitResult.getPos(), world, entity.getYaw(), entity.getPitch()),
+                    () -> getPosition(entityHitResult.getPos(), world, entity.getYaw(), entity.getPitch()),
                     hand == Hand.OFF_HAND
             )) ? ActionResult.FAIL : ActionResult.PASS;
         }
 
         // Only do this check on mobs (above handlers manages other cases)
         if (entity instanceof MobEntity) {
-            return getHandler().cancelOperation(Operation.of(
-                    getUser(player),
+            return getHandler().cancelOperation(Operation.lazy(
+                    () -> getUser(player),
                     OperationType.ENTITY_INTERACT,
-                    getPosition(entityHitResult.getPos(), world, entity.getYaw(), entity.getPitch()),
+                    () -> getPosition(entityHitResult.getPos(), world, entity.getYaw(), entity.getPitch()),
                     hand == Hand.OFF_HAND
             )) ? ActionResult.FAIL : ActionResult.PASS;
         }
@@ -81,28 +81,28 @@ public interface FabricUseEntityListener extends FabricListener {
     private ActionResult onPlayerClickEntity(ServerPlayerEntity player, Entity entity, World world, Hand hand) {
         // Check against interacting with container vehicles
         if (((entity instanceof VehicleEntity && entity instanceof VehicleInventory))) {
-            return getHandler().cancelOperation(Operation.of(
-                    getUser(player),
+            return getHandler().cancelOperation(Operation.lazy(
+                    () -> getUser(player),
                     OperationType.CONTAINER_OPEN,
-                    getPosition(entity.getPos(), world, entity.getYaw(), entity.getPitch()),
+                    () -> getPosition(entity.getPos(), world, entity.getYaw(), entity.getPitch()),
                     hand == Hand.OFF_HAND
             )) ? ActionResult.FAIL : ActionResult.PASS;
         }
 
         // Allow interacting with hostiles
         if (isMonster(entity)) {
-            return getHandler().cancelOperation(Operation.of(
-                    getUser(player),
+            return getHandler().cancelOperation(Operation.lazy(
+                    () -> getUser(player),
                     OperationType.PLAYER_DAMAGE_MONSTER,
-                    getPosition(entity.getPos(), world, entity.getYaw(), entity.getPitch()),
+                    () -> getPosition(entity.getPos(), world, entity.getYaw(), entity.getPitch()),
                     hand == Hand.OFF_HAND
             )) ? ActionResult.FAIL : ActionResult.PASS;
         }
 
-        if (getHandler().cancelOperation(Operation.of(
-                getUser(player),
+        if (getHandler().cancelOperation(Operation.lazy(
+                () -> getUser(player),
                 OperationType.ENTITY_INTERACT,
-                getPosition(entity.getPos(), world, entity.getYaw(), entity.getPitch()),
+                () -> getPosition(entity.getPos(), world, entity.getYaw(), entity.getPitch()),
                 hand == Hand.OFF_HAND
         ))) {
             return ActionResult.FAIL;
@@ -46,6 +46,7 @@ import net.william278.cloplib.operation.OperationPosition;
 import net.william278.cloplib.operation.OperationType;
 import net.william278.cloplib.operation.OperationUser;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
 import java.util.Optional;
@@ -67,7 +68,17 @@ public interface FabricUseItemListener extends FabricListener {
             (i, c) -> i instanceof SpawnEggItem || i instanceof EggItem, OperationType.USE_SPAWN_EGG
     ));
 
+    @Nullable
+    OperationType getPrecalculatedType(@NotNull Item item);
+
+    /**
+     * Get the precalculated operation types of items, keyed by item ID
+     *
+     * @return a snapshot of the precalculated item types
+     * @deprecated use {@link #getPrecalculatedType(Item)}
+     */
     @NotNull
+    @Deprecated(since = "2.1")
     Map<String, OperationType> getPrecalculatedItemMap();
 
     private Optional<OperationType> testItemPredicate(@NotNull Item item) {
@@ -76,8 +87,29 @@ public interface FabricUseItemListener extends FabricListener {
                 .map(Map.Entry::getValue).findFirst();
     }
 
+    // Returns the operation types of all registered items, indexed by raw registry ID
+    @NotNull
+    default OperationType[] precalculateItems() {
+        final OperationType[] types = new OperationType[Registries.ITEM.size()];
+        Registries.ITEM.forEach(i -> testItemPredicate(i).ifPresent(type -> types[Registries.ITEM.getRawId(i)] = type));
+        return types;
+    }
+
+    /**
+     * Put the operation types of all registered items into a map, keyed by item ID
+     *
+     * @param map the map to put the item types into
+     * @deprecated use {@link #precalculateItems()}
+     */
+    @Deprecated(since = "2.1")
     default void precalculateItems(@NotNull Map<String, OperationType> map) {
-        Registries.ITEM.forEach(i -> testItemPredicate(i).ifPresent(type -> map.put(i.toString(), type)));
+        final OperationType[] types = precalculateItems();
+        Registries.ITEM.forEach(i -> {
+            final OperationType type = types[Registries.ITEM.getRawId(i)];
+            if (type != null) {
+                map.put(i.toString(), type);
+            }
+        });
     }
 
     @NotNull
@@ -105,7 +137,7 @@ public interface FabricUseItemListener extends FabricListener {
         }
 
         // Check precalculated item operation map
-        final OperationType operationType = getPrecalculatedItemMap().get(item.getItem().toString());
+        final OperationType operationType = getPrecalculatedType(item.getItem());
         if (operationType == null) {
             //#if MC>=12104
             return ActionResult.PASS;
@@ -114,10 +146,10 @@ public interface FabricUseItemListener extends FabricListener {
             //#endif
         }
 
-        if (getHandler().cancelOperation(Operation.of(
-                getUser(player),
+        if (getHandler().cancelOperation(Operation.lazy(
+                () -> getUser(player),
                 operationType,
-                getUseItemPosition(player, world, hand, item),
+                () -> getUseItemPosition(player, world, hand, item),
                 hand == Hand.OFF_HAND
         ))) {
             //#if MC>=12104
@@ -215,11 +247,11 @@ public interface FabricUseItemListener extends FabricListener {
         final OperationPosition dispenserPosition = getPosition(dispenserPos, world);
         
         // Check if redstone operations are allowed
-        if (getHandler().cancelOperation(Operation.of(
+        if (getHandler().cancelOperation(
                 OperationType.REDSTONE_ACTUATE,
                 dispenserPosition,
                 true
-        ))) {
+        )) {
             return ActionResult.FAIL;
         }
         
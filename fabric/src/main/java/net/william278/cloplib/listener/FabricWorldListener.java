@@ -31,10 +31,10 @@ public interface FabricWorldListener extends FabricListener {
 
     @NotNull
     default ActionResult onRaidTriggered(@NotNull World world, @NotNull BlockPos pos, @NotNull PlayerEntity player) {
-        if (getHandler().cancelOperation(Operation.of(
-                getUser(player),
+        if (getHandler().cancelOperation(Operation.lazy(
+                () -> getUser(player),
                 OperationType.START_RAID,
-                getPosition(pos, world)
+                () -> getPosition(pos, world)
         ))) {
             return ActionResult.FAIL;
         }
@@ -43,12 +43,17 @@ public abstract class AbstractBlockStateMixin {
     //#else
     //$$ private void onEntityCollisionMixin(World world, BlockPos pos, Entity entity, CallbackInfo ci) {
     //#endif
-        final BlockState state = world.getBlockState(pos);
-        if (state == null || state.isAir()) {
+        if (!PressureBlockEvents.hasListeners()) {
             return;
         }
 
-        final ActionResult result = PressureBlockEvents.BEFORE_COLLISION.invoker().collide(world, pos, state, entity);
+        // Collisions are checked against the state at the position, which is this one
+        final BlockState state = (BlockState) (Object) this;
+        if (state.isAir()) {
+            return;
+        }
+
+        final ActionResult result = PressureBlockEvents.collide(world, pos, state, entity);
         if (result == ActionResult.FAIL) {
             ci.cancel();
         }
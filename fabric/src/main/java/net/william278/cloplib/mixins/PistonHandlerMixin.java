@@ -59,6 +59,9 @@ public abstract class PistonHandlerMixin {
     // When one block is destroyed
     @Inject(method = "calculatePush", at = @At(value = "RETURN", ordinal = 0), cancellable = true)
     private void calculatePushSingleDestroyMixin(CallbackInfoReturnable<Boolean> cir) {
+        if (!PistonEvents.hasListeners()) {
+            return;
+        }
         final ActionResult result = PistonEvents.BEFORE_ACTUATION.invoker()
                 .actuate(world, posFrom, pistonDirection, getChangedBlocks());
         if (result == ActionResult.FAIL) {
@@ -70,6 +73,9 @@ public abstract class PistonHandlerMixin {
     // When one or more blocks are moved or destroyed
     @Inject(method = "calculatePush", at = @At(value = "RETURN", ordinal = 4), cancellable = true)
     private void calculatePushOneOrMoreMoveMixin(CallbackInfoReturnable<Boolean> cir) {
+        if (!PistonEvents.hasListeners()) {
+            return;
+        }
         final ActionResult result = PistonEvents.BEFORE_ACTUATION.invoker()
                 .actuate(world, posFrom, pistonDirection, getChangedBlocks());
         if (result == ActionResult.FAIL) {
@@ -57,16 +57,17 @@ public abstract class ServerPlayNetworkHandlerMixin {
 
     @Inject(method = "onPlayerMove", at = @At(value = "INVOKE_ASSIGN", target = "Lnet/minecraft/server/network/ServerPlayerEntity;getBoundingBox()Lnet/minecraft/util/math/Box;"), cancellable = true)
     private void onPlayerMoveMixin(PlayerMoveC2SPacket packet, CallbackInfo ci) {
-        if (!packet.changesPosition()) {
+        if (!packet.changesPosition() || !PlayerMovementEvents.hasListeners()) {
             return;
         }
 
         // Determine change in distance
         final Vec3d from = new Vec3d(this.lastTickX, this.lastTickY, this.lastTickZ);
         final Vec3d to = new Vec3d(packet.getX(from.getX()), packet.getY(from.getY()), packet.getZ(from.getZ()));
-        double delta = Math.pow(this.lastTickX - to.getX(), 2) +
-                       Math.pow(this.lastTickY - to.getY(), 2) +
-                       Math.pow(this.lastTickZ - to.getZ(), 2);
+        final double dx = this.lastTickX - to.getX();
+        final double dy = this.lastTickY - to.getY();
+        final double dz = this.lastTickZ - to.getZ();
+        final double delta = dx * dx + dy * dy + dz * dz;
 
         // Cancel the action
         if ((delta > 1f / 256) && !this.player.isImmobile()) {
@@ -82,6 +83,10 @@ public abstract class ServerPlayNetworkHandlerMixin {
 
     @Inject(method = "onVehicleMove", at = @At(value = "INVOKE_ASSIGN", target = "Lnet/minecraft/server/world/ServerWorld;isSpaceEmpty(Lnet/minecraft/entity/Entity;Lnet/minecraft/util/math/Box;)Z", ordinal = 0), cancellable = true)
     private void onVehicleMoveMixin(VehicleMoveC2SPacket packet, CallbackInfo ci) {
+        if (!PlayerMovementEvents.hasListeners()) {
+            return;
+        }
+
         // Determine change in distance
         final Vec3d from = new Vec3d(this.lastTickRiddenX, this.lastTickRiddenY, this.lastTickRiddenZ);
         //#if MC>=12104
@@ -89,9 +94,10 @@ public abstract class ServerPlayNetworkHandlerMixin {
         //#else
         //$$ final Vec3d to = new Vec3d(packet.getX(), packet.getY(), packet.getZ());
         //#endif
-        double delta = Math.pow(this.lastTickRiddenX - to.getX(), 2) +
-                       Math.pow(this.lastTickRiddenY - to.getY(), 2) +
-                       Math.pow(this.lastTickRiddenZ - to.getZ(), 2);
+        final double dx = this.lastTickRiddenX - to.getX();
+        final double dy = this.lastTickRiddenY - to.getY();
+        final double dz = this.lastTickRiddenZ - to.getZ();
+        final double delta = dx * dx + dy * dy + dz * dz;
 
         // Cancel the action
         if ((delta > 1f / 256)) {
@@ -104,6 +110,11 @@ public abstract class ServerPlayNetworkHandlerMixin {
         }
     }
 
+    @Inject(method = "requestTeleport*", at = @At("HEAD"))
+    private void onRequestTeleportMixin(CallbackInfo ci) {
+        PlayerMovementEvents.BEFORE_TELEPORT.invoker().teleport(player);
+    }
+
     @Unique
     @NotNull
     private ServerWorld getServerWorld(ServerPlayerEntity player) {
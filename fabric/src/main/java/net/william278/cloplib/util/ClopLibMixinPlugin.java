@@ -0,0 +1,148 @@
+/*
+ * This file is part of ClopLib, licensed under the Apache License 2.0.
+ *
+ *  Copyright (c) William278 <will27528@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package net.william278.cloplib.util;
+
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.ModContainer;
+import net.fabricmc.loader.api.metadata.CustomValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.tree.ClassNode;
+import org.spongepowered.asm.mixin.extensibility.IMixinConfigPlugin;
+import org.spongepowered.asm.mixin.extensibility.IMixinInfo;
+
+import java.util.*;
+
+/**
+ * Mixin config plugin that skips applying the mixins of protection categories no mod needs
+ * <p>
+ * Mods using ClopLib may list the {@link Category categories} they need under the {@code cloplib:mixins} custom
+ * value of their {@code fabric.mod.json}; categories are applied if any mod lists them, and all are applied if none
+ * do. Server owners may also turn categories off with the {@code cloplib.mixins.disabled} system property, as a
+ * comma-separated list. Mixins outside of any category are always applied.
+ *
+ * @since 2.1
+ */
+public final class ClopLibMixinPlugin implements IMixinConfigPlugin {
+
+    private static final String CUSTOM_VALUE = "cloplib:mixins";
+    private static final String DISABLED_PROPERTY = "cloplib.mixins.disabled";
+
+    private final Set<Category> disabled = EnumSet.noneOf(Category.class);
+
+    @Override
+    public void onLoad(String mixinPackage) {
+        final Set<Category> required = getRequiredCategories();
+        if (required != null) {
+            disabled.addAll(EnumSet.complementOf(EnumSet.copyOf(required)));
+        }
+        final String property = System.getProperty(DISABLED_PROPERTY, "");
+        for (String name : property.split(",")) {
+            Category.byName(name.trim()).ifPresent(disabled::add);
+        }
+    }
+
+    @Override
+    public boolean shouldApplyMixin(String targetClassName, String mixinClassName) {
+        final String mixin = mixinClassName.substring(mixinClassName.lastIndexOf('.') + 1);
+        for (Category category : disabled) {
+            if (category.mixins.contains(mixin)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns the union of the categories mods require, or null if no mod declares any
+    @Nullable
+    private static Set<Category> getRequiredCategories() {
+        Set<Category> required = null;
+        for (ModContainer mod : FabricLoader.getInstance().getAllMods()) {
+            final CustomValue value = mod.getMetadata().getCustomValue(CUSTOM_VALUE);
+            if (value == null || value.getType() != CustomValue.CvType.ARRAY) {
+                continue;
+            }
+            if (required == null) {
+                required = EnumSet.noneOf(Category.class);
+            }
+            for (CustomValue entry : value.getAsArray()) {
+                if (entry.getType() == CustomValue.CvType.STRING) {
+                    Category.byName(entry.getAsString()).ifPresent(required::add);
+                }
+            }
+        }
+        return required;
+    }
+
+    @Override
+    public String getRefMapperConfig() {
+        return null;
+    }
+
+    @Override
+    public void acceptTargets(Set<String> myTargets, Set<String> otherTargets) {
+    }
+
+    @Override
+    public List<String> getMixins() {
+        return null;
+    }
+
+    @Override
+    public void preApply(String targetClassName, ClassNode targetClass, String mixinClassName, IMixinInfo mixinInfo) {
+    }
+
+    @Override
+    public void postApply(String targetClassName, ClassNode targetClass, String mixinClassName, IMixinInfo mixinInfo) {
+    }
+
+    /**
+     * Categories of protection mixins that can be skipped
+     *
+     * @since 2.1
+     */
+    public enum Category {
+        FIRE("FireBlockMixin"),
+        FLUID("FlowableFluidMixin"),
+        PRESSURE_PLATES("AbstractBlockStateMixin"),
+        MOB_SPAWNING("SpawnHelperMixin"),
+        MOVEMENT("ServerPlayNetworkHandlerMixin"),
+        PISTONS("PistonHandlerMixin"),
+        EXPLOSIONS("ExplosionBehaviourMixin", "ExplosionImplMixin"),
+        DISPENSERS("BlockDispenserBehaviourMixin", "ProjectileDispenserBehaviourMixin",
+                "VehiclePlaceDispenserBehaviourMixin"),
+        PROJECTILES("ProjectileEntityMixin"),
+        RAIDS("RaidManagerMixin"),
+        ENCHANTMENT_EFFECTS("ReplaceBlockEnchantmentEffectMixin", "SetBlockPropertiesEnchantmentEffectMixin"),
+        LECTERNS("LecternBlockEntityMixin");
+
+        private final Set<String> mixins;
+
+        Category(@NotNull String... mixins) {
+            this.mixins = Set.of(mixins);
+        }
+
+        @NotNull
+        private static Optional<Category> byName(@NotNull String name) {
+            return Arrays.stream(values()).filter(c -> c.name().equalsIgnoreCase(name)).findFirst();
+        }
+    }
+
+}